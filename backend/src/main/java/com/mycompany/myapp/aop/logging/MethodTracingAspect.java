@@ -0,0 +1,235 @@
+package com.mycompany.myapp.aop.logging;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Aspect for tracing the execution of service and repository Spring components in production, where the
+ * {@link LoggingAspect} is too costly.
+ * <p>
+ * Every call is timed in a Micrometer histogram. Only a sample of the calls, failed or not, are logged, for the
+ * classes with the DEBUG level: their arguments and results are described without converting collections, pages or
+ * arrays to strings, truncated, and logged from a background thread. Traces are dropped when too many are waiting.
+ */
+@Aspect
+public class MethodTracingAspect implements DisposableBean {
+
+    public static final String CALLS_METER_NAME = "method.calls";
+
+    public static final String DROPPED_METER_NAME = "method.calls.traces.dropped";
+
+    private final Map<Method, MethodMetadata> metadata = new ConcurrentHashMap<>();
+
+    private final double sampleRate;
+
+    private final int maxLength;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor traceExecutor;
+
+    public MethodTracingAspect(ApplicationProperties.Logging.MethodTracing properties, MeterRegistry meterRegistry) {
+        this.sampleRate = properties.getSampleRate();
+        this.maxLength = properties.getMaxLength();
+        this.meterRegistry = meterRegistry;
+        Counter dropped = Counter
+            .builder(DROPPED_METER_NAME)
+            .description("Method traces dropped as the queue was full")
+            .register(meterRegistry);
+        this.traceExecutor =
+            new ThreadPoolExecutor(
+                1,
+                1,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("method-tracing-"),
+                (trace, executor) -> dropped.increment()
+            );
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(com.mycompany.myapp.repository..*)" +
+        " || within(com.mycompany.myapp.service..*)" +
+        " || within(com.mycompany.myapp.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a method, and logs a sample of its calls with their arguments and result or exception.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object traceAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMetadata method = metadata.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::createMetadata);
+        boolean sampled = method.log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        String arguments = sampled ? describeArguments(joinPoint.getArgs()) : null;
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long duration = System.nanoTime() - start;
+            method.success.record(duration, TimeUnit.NANOSECONDS);
+            if (sampled) {
+                String description = describe(result, maxLength);
+                traceExecutor.execute(() ->
+                    method.log.debug(
+                        "Exit: {}({}) with result = {} in {} ms",
+                        method.name,
+                        arguments,
+                        description,
+                        TimeUnit.NANOSECONDS.toMillis(duration)
+                    )
+                );
+            }
+            return result;
+        } catch (Throwable e) {
+            long duration = System.nanoTime() - start;
+            method.failure.record(duration, TimeUnit.NANOSECONDS);
+            // Failures are sampled like the other calls: the exception goes through every advised layer, and is
+            // logged by the exception translator anyway
+            if (sampled) {
+                String description = describe(e, maxLength);
+                traceExecutor.execute(() ->
+                    method.log.debug(
+                        "Exception: {}({}) with exception = {} in {} ms",
+                        method.name,
+                        arguments,
+                        description,
+                        TimeUnit.NANOSECONDS.toMillis(duration)
+                    )
+                );
+            }
+            throw e;
+        }
+    }
+
+    private MethodMetadata createMetadata(Method method) {
+        return new MethodMetadata(method, meterRegistry);
+    }
+
+    private String describeArguments(Object[] args) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(describe(args[i], maxLength));
+        }
+        return description.toString();
+    }
+
+    /**
+     * Describe a value for a trace, in at most about {@code maxLength} characters. The elements of pages, collections,
+     * maps and arrays are never converted to strings, only counted.
+     */
+    static String describe(Object value, int maxLength) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Slice) {
+            Slice<?> slice = (Slice<?>) value;
+            return value.getClass().getSimpleName() + "[number=" + slice.getNumber() + ", elements=" + slice.getNumberOfElements() + "]";
+        }
+        if (value instanceof Collection) {
+            return value.getClass().getSimpleName() + "[size=" + ((Collection<?>) value).size() + "]";
+        }
+        if (value instanceof Map) {
+            return value.getClass().getSimpleName() + "[size=" + ((Map<?, ?>) value).size() + "]";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).map(present -> "Optional[" + describe(present, maxLength) + "]").orElse("Optional.empty");
+        }
+        if (value instanceof ResponseEntity) {
+            ResponseEntity<?> entity = (ResponseEntity<?>) value;
+            return "ResponseEntity[" + entity.getStatusCodeValue() + ", body=" + describe(entity.getBody(), maxLength) + "]";
+        }
+        String description = String.valueOf(value);
+        return description.length() > maxLength ? description.substring(0, maxLength) + "..." : description;
+    }
+
+    @Override
+    public void destroy() {
+        traceExecutor.shutdown();
+    }
+
+    /**
+     * What is needed to trace the calls of a method, computed on its first call.
+     */
+    private static final class MethodMetadata {
+
+        private final Logger log;
+
+        private final String name;
+
+        private final Timer success;
+
+        private final Timer failure;
+
+        private MethodMetadata(Method method, MeterRegistry meterRegistry) {
+            this.log = LoggerFactory.getLogger(method.getDeclaringClass().getName());
+            this.name = method.getName();
+            this.success = createTimer(method, "success", meterRegistry);
+            this.failure = createTimer(method, "error", meterRegistry);
+        }
+
+        private static Timer createTimer(Method method, String outcome, MeterRegistry meterRegistry) {
+            return Timer
+                .builder(CALLS_METER_NAME)
+                .description("Calls of the service, repository and REST methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,497 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Search search = new Search();
+
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final Datasource datasource = new Datasource();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Logging logging = new Logging();
+
+    private final HibernateStatistics hibernateStatistics = new HibernateStatistics();
+
+    private final StatementBudget statementBudget = new StatementBudget();
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public HibernateStatistics getHibernateStatistics() {
+        return hibernateStatistics;
+    }
+
+    public StatementBudget getStatementBudget() {
+        return statementBudget;
+    }
+
+    public static class Search {
+
+        private final TitleIndex titleIndex = new TitleIndex();
+
+        public TitleIndex getTitleIndex() {
+            return titleIndex;
+        }
+
+        public static class TitleIndex {
+
+            private boolean enabled = true;
+
+            /**
+             * Above this number of matches, the "contains" filter is left to the database.
+             */
+            private int maxCandidates = 1000;
+
+            /**
+             * Delay between the first committed title change and the rebuild of the suggestion trie, which picks up
+             * all the changes made in the meantime.
+             */
+            private Duration suggestionRebuildDelay = Duration.ofSeconds(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxCandidates() {
+                return maxCandidates;
+            }
+
+            public void setMaxCandidates(int maxCandidates) {
+                this.maxCandidates = maxCandidates;
+            }
+
+            public Duration getSuggestionRebuildDelay() {
+                return suggestionRebuildDelay;
+            }
+
+            public void setSuggestionRebuildDelay(Duration suggestionRebuildDelay) {
+                this.suggestionRebuildDelay = suggestionRebuildDelay;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public static class TokenCache {
+
+            /**
+             * Maximum number of verified tokens kept with their authentication, 0 disables the cache.
+             */
+            private int maxSize = 10000;
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        private final NearCache nearCache = new NearCache();
+
+        private final ResponseCache responseCache = new ResponseCache();
+
+        public NearCache getNearCache() {
+            return nearCache;
+        }
+
+        public ResponseCache getResponseCache() {
+            return responseCache;
+        }
+
+        public static class NearCache {
+
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of entries kept locally, per domain region, keyed by entity name.
+             */
+            private Map<String, Integer> regions = new LinkedHashMap<>();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Map<String, Integer> getRegions() {
+                return regions;
+            }
+
+            public void setRegions(Map<String, Integer> regions) {
+                this.regions = regions;
+            }
+        }
+
+        public static class ResponseCache {
+
+            private boolean enabled = true;
+
+            /**
+             * Maximum size of all the cached response bodies.
+             */
+            private long maxBytes = 16 * 1024 * 1024;
+
+            /**
+             * Larger response bodies are not cached.
+             */
+            private int maxEntryBytes = 64 * 1024;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxBytes() {
+                return maxBytes;
+            }
+
+            public void setMaxBytes(long maxBytes) {
+                this.maxBytes = maxBytes;
+            }
+
+            public int getMaxEntryBytes() {
+                return maxEntryBytes;
+            }
+
+            public void setMaxEntryBytes(int maxEntryBytes) {
+                this.maxEntryBytes = maxEntryBytes;
+            }
+        }
+    }
+
+    public static class Datasource {
+
+        private final Replica replica = new Replica();
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        public static class Replica {
+
+            private boolean enabled = false;
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            /**
+             * Maximum size of the replica pool, defaults to the size of the primary pool.
+             */
+            private Integer maximumPoolSize;
+
+            /**
+             * Query run on the replica, returning its replication lag in seconds. Without it, the replica is never
+             * considered late.
+             */
+            private String lagQuery;
+
+            /**
+             * Above this replication lag, read-only transactions go back to the primary.
+             */
+            private Duration maxLag = Duration.ofSeconds(5);
+
+            private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+            /**
+             * After committing a write, the read-only transactions of the same user go to the primary for this long,
+             * so they see their own writes. It should not be shorter than the maximum lag.
+             */
+            private Duration stickiness = Duration.ofSeconds(5);
+
+            /**
+             * Maximum number of users whose stickiness is kept in the near cache of each cluster member.
+             */
+            private int stickinessNearCacheSize = 10000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public String getLagQuery() {
+                return lagQuery;
+            }
+
+            public void setLagQuery(String lagQuery) {
+                this.lagQuery = lagQuery;
+            }
+
+            public Duration getMaxLag() {
+                return maxLag;
+            }
+
+            public void setMaxLag(Duration maxLag) {
+                this.maxLag = maxLag;
+            }
+
+            public Duration getLagCheckInterval() {
+                return lagCheckInterval;
+            }
+
+            public void setLagCheckInterval(Duration lagCheckInterval) {
+                this.lagCheckInterval = lagCheckInterval;
+            }
+
+            public Duration getStickiness() {
+                return stickiness;
+            }
+
+            public void setStickiness(Duration stickiness) {
+                this.stickiness = stickiness;
+            }
+
+            public int getStickinessNearCacheSize() {
+                return stickinessNearCacheSize;
+            }
+
+            public void setStickinessNearCacheSize(int stickinessNearCacheSize) {
+                this.stickinessNearCacheSize = stickinessNearCacheSize;
+            }
+        }
+    }
+
+    public static class VirtualThreads {
+
+        /**
+         * Maximum number of API requests handled at once, as virtual threads do not bound them like a worker pool.
+         */
+        private int maxConcurrentRequests = 200;
+
+        /**
+         * Requests waiting longer than this for their turn are rejected with {@code 503 (Service Unavailable)}.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+    }
+
+    public static class Logging {
+
+        private final MethodTracing methodTracing = new MethodTracing();
+
+        public MethodTracing getMethodTracing() {
+            return methodTracing;
+        }
+
+        public static class MethodTracing {
+
+            private boolean enabled = false;
+
+            /**
+             * Fraction of the calls logged when the DEBUG level is enabled for their class, all calls are timed.
+             */
+            private double sampleRate = 0.01;
+
+            /**
+             * Longer descriptions of arguments and results are truncated.
+             */
+            private int maxLength = 200;
+
+            /**
+             * Maximum number of traces waiting to be logged, further traces are dropped.
+             */
+            private int queueCapacity = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getSampleRate() {
+                return sampleRate;
+            }
+
+            public void setSampleRate(double sampleRate) {
+                this.sampleRate = sampleRate;
+            }
+
+            public int getMaxLength() {
+                return maxLength;
+            }
+
+            public void setMaxLength(int maxLength) {
+                this.maxLength = maxLength;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+    }
+
+    public static class HibernateStatistics {
+
+        /**
+         * Queries taking at least this long are logged, while the statistics are enabled.
+         */
+        private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+        /**
+         * Maximum number of query shapes timed separately, queries of further shapes share a single timer.
+         */
+        private int maxQueries = 200;
+
+        public Duration getSlowQueryThreshold() {
+            return slowQueryThreshold;
+        }
+
+        public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+            this.slowQueryThreshold = slowQueryThreshold;
+        }
+
+        public int getMaxQueries() {
+            return maxQueries;
+        }
+
+        public void setMaxQueries(int maxQueries) {
+            this.maxQueries = maxQueries;
+        }
+    }
+
+    public static class StatementBudget {
+
+        /**
+         * Maximum number of SQL statements of a request, unless its endpoint has its own budget.
+         */
+        private int defaultBudget = 10;
+
+        /**
+         * Budgets of the endpoints, by HTTP method and path pattern, e.g. {@code GET /api/cart}.
+         */
+        private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+        /**
+         * Whether requests above their budget fail, instead of only being logged.
+         */
+        private boolean strict = false;
+
+        public int getDefaultBudget() {
+            return defaultBudget;
+        }
+
+        public void setDefaultBudget(int defaultBudget) {
+            this.defaultBudget = defaultBudget;
+        }
+
+        public Map<String, Integer> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, Integer> endpoints) {
+            this.endpoints = endpoints;
+        }
+
+        public boolean isStrict() {
+            return strict;
+        }
+
+        public void setStrict(boolean strict) {
+            this.strict = strict;
+        }
+    }
+}
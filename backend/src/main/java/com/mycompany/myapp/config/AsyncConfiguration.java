@@ -1,6 +1,8 @@
 package com.mycompany.myapp.config;
 
+import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -8,6 +10,8 @@ import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -23,19 +27,35 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment env;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment env) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
-        log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        Optional<ThreadFactory> virtualThreadFactory = env.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_VIRTUAL_THREADS))
+            ? VirtualThreadConfiguration.virtualThreadFactory(taskExecutionProperties.getThreadNamePrefix())
+            : Optional.empty();
+        if (virtualThreadFactory.isPresent()) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            // At most as many tasks at once as the threads of the pool, the others wait in the queue instead of
+            // blocking the caller: the pool starts a new virtual thread for each task, up to its maximum size
+            executor.setThreadFactory(virtualThreadFactory.get());
+            executor.setCorePoolSize(taskExecutionProperties.getPool().getMaxSize());
+            executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
+            executor.setAllowCoreThreadTimeOut(true);
+        } else {
+            log.debug("Creating Async Task Executor");
+            executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
+            executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
+        }
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
@@ -3,7 +3,14 @@ package com.mycompany.myapp.config;
 import com.hazelcast.config.*;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.mycompany.myapp.management.NearCacheMeterBinder;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.PreDestroy;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +34,8 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE = "com.mycompany.myapp.domain.";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
 
@@ -64,7 +73,7 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("backend");
         if (hazelCastInstance != null) {
@@ -105,11 +114,36 @@ public class CacheConfiguration {
             }
         }
         config.setManagementCenterConfig(new ManagementCenterConfig());
+        initializeSerializationConfig(config.getSerializationConfig());
         config.addMapConfig(initializeDefaultMapConfig(jHipsterProperties));
         config.addMapConfig(initializeDomainMapConfig(jHipsterProperties));
+        config.addMapConfig(initializeReplicaStickinessMapConfig(applicationProperties));
+        // Near caches are invalidated as soon as their entry changes, instead of by batches sent every few seconds
+        config.setProperty(ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_ENABLED.getName(), "false");
+        ApplicationProperties.Cache.NearCache nearCache = applicationProperties.getCache().getNearCache();
+        if (nearCache.isEnabled()) {
+            nearCache
+                .getRegions()
+                .forEach((entityName, maxSize) ->
+                    config.addMapConfig(initializeNearCachedDomainMapConfig(jHipsterProperties, entityName, maxSize))
+                );
+        }
         return Hazelcast.newHazelcastInstance(config);
     }
 
+    /**
+     * Registers the serializers of the second-level cache values, which would otherwise use Java serialization.
+     */
+    static SerializationConfig initializeSerializationConfig(SerializationConfig serializationConfig) {
+        serializationConfig.addSerializerConfig(
+            new SerializerConfig().setTypeClass(StandardCacheEntryImpl.class).setImplementation(new CacheEntrySerializer())
+        );
+        serializationConfig.addSerializerConfig(
+            new SerializerConfig().setTypeClass(AbstractReadWriteAccess.Item.class).setImplementation(new ReadWriteItemSerializer())
+        );
+        return serializationConfig;
+    }
+
     private MapConfig initializeDefaultMapConfig(JHipsterProperties jHipsterProperties) {
         MapConfig mapConfig = new MapConfig("default");
 
@@ -140,12 +174,69 @@ public class CacheConfiguration {
         return mapConfig;
     }
 
-    private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
-        MapConfig mapConfig = new MapConfig("com.mycompany.myapp.domain.*");
+    private static MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
+        MapConfig mapConfig = new MapConfig(DOMAIN_PACKAGE + "*");
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
         return mapConfig;
     }
 
+    /**
+     * The stickiness of users to the primary database, after their writes, expires on its own.
+     * <p>
+     * It is read by every read-only transaction, so each member keeps a near cache of it. The near cache is
+     * invalidated as soon as the entry changes, so that a user who wrote through one member does not keep reading the
+     * replica through another.
+     */
+    static MapConfig initializeReplicaStickinessMapConfig(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Datasource.Replica replica = applicationProperties.getDatasource().getReplica();
+        long stickinessMillis = replica.getStickiness().toMillis();
+        MapConfig mapConfig = new MapConfig(ReplicaRoutingDataSource.STICKINESS_MAP_NAME);
+        mapConfig.setTimeToLiveSeconds((int) Math.max(1, (stickinessMillis + 999) / 1000));
+
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(mapConfig.getName());
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setTimeToLiveSeconds(mapConfig.getTimeToLiveSeconds());
+        nearCacheConfig
+            .getEvictionConfig()
+            .setEvictionPolicy(EvictionPolicy.LRU)
+            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+            .setSize(replica.getStickinessNearCacheSize());
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
+    /**
+     * Same as the domain map configuration, with a near cache: without it, every second-level cache hit on an entry
+     * owned by another cluster member is a network round trip.
+     */
+    static MapConfig initializeNearCachedDomainMapConfig(JHipsterProperties jHipsterProperties, String entityName, int maxSize) {
+        MapConfig mapConfig = initializeDomainMapConfig(jHipsterProperties).setName(DOMAIN_PACKAGE + entityName);
+
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(mapConfig.getName());
+        // Local copies are dropped as soon as the entry is updated or evicted on any member
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setTimeToLiveSeconds(mapConfig.getTimeToLiveSeconds());
+        nearCacheConfig
+            .getEvictionConfig()
+            .setEvictionPolicy(EvictionPolicy.LRU)
+            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+            .setSize(maxSize);
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
+    @Bean
+    public MeterBinder nearCacheMeterBinder(HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Cache.NearCache nearCache = applicationProperties.getCache().getNearCache();
+        List<String> regions = new ArrayList<>();
+        if (nearCache.isEnabled()) {
+            nearCache.getRegions().keySet().forEach(entityName -> regions.add(DOMAIN_PACKAGE + entityName));
+        }
+        return new NearCacheMeterBinder(hazelcastInstance, regions);
+    }
+
     @Autowired(required = false)
     public void setGitProperties(GitProperties gitProperties) {
         this.gitProperties = gitProperties;
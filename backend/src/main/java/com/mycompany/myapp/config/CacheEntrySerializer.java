@@ -0,0 +1,46 @@
+package com.mycompany.myapp.config;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.IOException;
+import java.io.Serializable;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+
+/**
+ * Hazelcast serializer of the entity state cached by Hibernate in the second-level cache.
+ * <p>
+ * The disassembled state only holds column values and identifiers of associated entities, which are written with
+ * the Hazelcast built-in serializers instead of the Java serialization of the whole entry graph.
+ */
+public class CacheEntrySerializer implements StreamSerializer<StandardCacheEntryImpl> {
+
+    public static final int TYPE_ID = 1000;
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, StandardCacheEntryImpl entry) throws IOException {
+        out.writeString(entry.getSubclass());
+        out.writeObject(entry.getVersion());
+        Serializable[] state = entry.getDisassembledState();
+        out.writeInt(state.length);
+        for (Serializable value : state) {
+            out.writeObject(value);
+        }
+    }
+
+    @Override
+    public StandardCacheEntryImpl read(ObjectDataInput in) throws IOException {
+        String subclass = in.readString();
+        Object version = in.readObject();
+        Serializable[] state = new Serializable[in.readInt()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = in.readObject();
+        }
+        return new StandardCacheEntryImpl(state, subclass, version);
+    }
+}
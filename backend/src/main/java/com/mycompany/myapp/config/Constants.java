@@ -7,5 +7,10 @@ public final class Constants {
 
     public static final String SYSTEM = "system";
 
+    /**
+     * Opt-in profile running request handling and {@code @Async} tasks on virtual threads.
+     */
+    public static final String SPRING_PROFILE_VIRTUAL_THREADS = "virtual-threads";
+
     private Constants() {}
 }
@@ -0,0 +1,97 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.HibernateStatisticsEndpoint;
+import com.mycompany.myapp.management.MeteredStatistics;
+import com.mycompany.myapp.management.StatementCountTagsContributor;
+import com.mycompany.myapp.management.StatementCounter;
+import com.mycompany.myapp.web.filter.StatementCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the Hibernate statistics with {@link MeteredStatistics}, published to Micrometer, and counts the SQL
+ * statements of each request against their budget.
+ * <p>
+ * The statistics are enabled on startup by {@code hibernate.generate_statistics}, and at runtime by the
+ * {@link HibernateStatisticsEndpoint}. Their meters are bound once all the singletons are created, like the Spring Boot
+ * Hibernate metrics, as the entity manager factory must not be created while the meter registry is.
+ */
+@Configuration
+public class HibernateStatisticsConfiguration implements SmartInitializingSingleton {
+
+    private static final String STATISTICS_FACTORY = "hibernate.stats.factory";
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public HibernateStatisticsConfiguration(
+        ObjectProvider<EntityManagerFactory> entityManagerFactory,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer meteredStatisticsCustomizer(
+        StatementCounter statementCounter,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.HibernateStatistics properties = applicationProperties.getHibernateStatistics();
+        StatisticsFactory statisticsFactory = sessionFactory ->
+            new MeteredStatistics(sessionFactory, properties.getSlowQueryThreshold(), properties.getMaxQueries());
+        return hibernateProperties -> {
+            hibernateProperties.put(STATISTICS_FACTORY, statisticsFactory);
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+        };
+    }
+
+    @Bean
+    public HibernateStatisticsEndpoint hibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsEndpoint(meteredStatistics(entityManagerFactory));
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+        StatementCounter statementCounter,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.StatementBudget budget = applicationProperties.getStatementBudget();
+        FilterRegistrationBean<StatementCountFilter> registration = new FilterRegistrationBean<>(
+            new StatementCountFilter(statementCounter, budget.getDefaultBudget(), budget.getEndpoints(), budget.isStrict(), meterRegistry)
+        );
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public WebMvcTagsContributor statementCountTagsContributor() {
+        return new StatementCountTagsContributor();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        meteredStatistics(entityManagerFactory.getObject()).bindTo(meterRegistry.getObject());
+    }
+
+    private static MeteredStatistics meteredStatistics(EntityManagerFactory entityManagerFactory) {
+        return (MeteredStatistics) entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -1,6 +1,9 @@
 package com.mycompany.myapp.config;
 
 import com.mycompany.myapp.aop.logging.LoggingAspect;
+import com.mycompany.myapp.aop.logging.MethodTracingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -14,4 +17,11 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @Profile("!" + JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+    @ConditionalOnProperty(prefix = "application.logging.method-tracing", name = "enabled", havingValue = "true")
+    public MethodTracingAspect methodTracingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new MethodTracingAspect(applicationProperties.getLogging().getMethodTracing(), meterRegistry);
+    }
 }
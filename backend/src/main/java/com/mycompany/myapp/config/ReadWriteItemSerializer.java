@@ -0,0 +1,38 @@
+package com.mycompany.myapp.config;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.IOException;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+/**
+ * Hazelcast serializer of the unlocked entries of the {@code READ_WRITE} second-level cache regions.
+ * <p>
+ * The wrapped value is written through Hazelcast as well, so that it is handled by {@link CacheEntrySerializer}
+ * instead of being nested in the Java serialization of the item.
+ */
+public class ReadWriteItemSerializer implements StreamSerializer<AbstractReadWriteAccess.Item> {
+
+    public static final int TYPE_ID = 1001;
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, AbstractReadWriteAccess.Item item) throws IOException {
+        out.writeLong(item.getTimestamp());
+        out.writeObject(item.getVersion());
+        out.writeObject(item.getValue());
+    }
+
+    @Override
+    public AbstractReadWriteAccess.Item read(ObjectDataInput in) throws IOException {
+        long timestamp = in.readLong();
+        Object version = in.readObject();
+        Object value = in.readObject();
+        return new AbstractReadWriteAccess.Item(value, version, timestamp);
+    }
+}
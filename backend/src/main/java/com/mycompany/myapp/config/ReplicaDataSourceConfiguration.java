@@ -0,0 +1,78 @@
+package com.mycompany.myapp.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Replaces the single connection pool by a primary and a replica pool, when {@code application.datasource.replica}
+ * is enabled: read-only transactions are then routed by a {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * The replica pool has the settings of the primary pool, except for its connection and size.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(
+        @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Datasource.Replica properties = applicationProperties.getDatasource().getReplica();
+        HikariDataSource replicaDataSource = new HikariDataSource();
+        primaryDataSource.copyStateTo(replicaDataSource);
+        replicaDataSource.setPoolName(Objects.requireNonNullElse(primaryDataSource.getPoolName(), "Hikari") + "-replica");
+        replicaDataSource.setJdbcUrl(properties.getUrl());
+        replicaDataSource.setUsername(properties.getUsername());
+        replicaDataSource.setPassword(properties.getPassword());
+        replicaDataSource.setReadOnly(true);
+        if (properties.getMaximumPoolSize() != null) {
+            replicaDataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        }
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+        @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+        ApplicationProperties applicationProperties,
+        TaskScheduler taskScheduler,
+        HazelcastInstance hazelcastInstance
+    ) {
+        ApplicationProperties.Datasource.Replica properties = applicationProperties.getDatasource().getReplica();
+        log.debug("Routing read-only transactions to the replica at {}", properties.getUrl());
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicaDataSource,
+            properties,
+            hazelcastInstance.getMap(ReplicaRoutingDataSource.STICKINESS_MAP_NAME)
+        );
+        routingDataSource.afterPropertiesSet();
+        taskScheduler.scheduleWithFixedDelay(routingDataSource::checkReplicaLag, properties.getLagCheckInterval());
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
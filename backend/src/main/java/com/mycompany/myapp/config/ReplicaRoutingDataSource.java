@@ -0,0 +1,270 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.security.CartIdFilter;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.EntityVersionService;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends the connections of read-only transactions to a replica, and every other connection to the primary.
+ * <p>
+ * Read-only transactions still go to the primary while the replica lags behind by more than the configured maximum,
+ * or when the current user committed a write less than the configured stickiness ago, so that users always read
+ * their own writes. The time until which a user sticks to the primary is shared by the cluster members, as the next
+ * request of the user may be sent to any of them. It is only recorded for the transactions which sent a statement
+ * other than a select to the database, and not for the anonymous owners of carts, whose cart writes answer with the
+ * cart itself: one entry per visitor would fill the map.
+ * <p>
+ * Read-only transactions marked by {@link EntityVersionService#markVersionedRead()} also go to the primary: their data
+ * is tagged with the current entity version, and cached under that tag, so it must not lag behind it.
+ * <p>
+ * The transaction managers fetch their connection before flagging the transaction as read-only, so this data source
+ * must be used through a {@link LazyConnectionDataSourceProxy}, which only fetches it on the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource replica;
+
+    private final ApplicationProperties.Datasource.Replica properties;
+
+    private final LongSupplier clock;
+
+    /**
+     * Name of the Hazelcast map of the time until which the read-only transactions of a user go to the primary, keyed
+     * by login. Its entries must expire after the stickiness.
+     */
+    public static final String STICKINESS_MAP_NAME = "replica-stickiness";
+
+    private final ConcurrentMap<String, Long> stickyUntil;
+
+    /**
+     * Select statements, after the comments Hibernate may prefix them with.
+     */
+    private static final Pattern SELECT_STATEMENT = Pattern.compile(
+        "\\s*(/\\*.*?\\*/\\s*)*select\\b",
+        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+
+    private volatile boolean replicaInSync = true;
+
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        DataSource replica,
+        ApplicationProperties.Datasource.Replica properties,
+        ConcurrentMap<String, Long> stickyUntil
+    ) {
+        this(primary, replica, properties, stickyUntil, System::currentTimeMillis);
+    }
+
+    ReplicaRoutingDataSource(
+        DataSource primary,
+        DataSource replica,
+        ApplicationProperties.Datasource.Replica properties,
+        ConcurrentMap<String, Long> stickyUntil,
+        LongSupplier clock
+    ) {
+        this.replica = replica;
+        this.properties = properties;
+        this.stickyUntil = stickyUntil;
+        this.clock = clock;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        if (!replicaInSync || EntityVersionService.isVersionedRead() || isSticky()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return stickToPrimaryAfterWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return stickToPrimaryAfterWrites(super.getConnection(username, password));
+    }
+
+    /**
+     * Wrap the connection of a read-write transaction, so that its first write makes the current user stick to the
+     * primary once the transaction commits.
+     */
+    private Connection stickToPrimaryAfterWrites(Connection connection) {
+        if (
+            TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !TransactionSynchronizationManager.isSynchronizationActive()
+        ) {
+            return connection;
+        }
+        Optional<String> login = SecurityUtils
+            .getCurrentUserLogin()
+            .filter(currentLogin -> !currentLogin.startsWith(CartIdFilter.CART_PRINCIPAL_PREFIX));
+        if (login.isEmpty()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new WriteDetector(connection, new StickToPrimaryAfterCommit(login.get()))
+        );
+    }
+
+    /**
+     * @return whether the SQL statement may write, when it is not a select.
+     */
+    static boolean isWrite(String sql) {
+        return !SELECT_STATEMENT.matcher(sql).lookingAt();
+    }
+
+    /**
+     * Registers, on its first run, the synchronization making the user stick to the primary after the commit.
+     */
+    private class StickToPrimaryAfterCommit implements Runnable {
+
+        private final String login;
+
+        private boolean registered;
+
+        StickToPrimaryAfterCommit(String login) {
+            this.login = login;
+        }
+
+        @Override
+        public void run() {
+            if (registered || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            registered = true;
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stickyUntil.put(login, clock.getAsLong() + properties.getStickiness().toMillis());
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Runs its callback when a write statement is prepared or executed through the connection, or through the plain
+     * statements it creates.
+     */
+    private static class WriteDetector implements InvocationHandler {
+
+        private final Object target;
+
+        private final Runnable onWrite;
+
+        WriteDetector(Object target, Runnable onWrite) {
+            this.target = target;
+            this.onWrite = onWrite;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (
+                args != null &&
+                args.length > 0 &&
+                args[0] instanceof String &&
+                (name.startsWith("prepare") || name.startsWith("execute") || name.equals("addBatch")) &&
+                isWrite((String) args[0])
+            ) {
+                onWrite.run();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (name.equals("createStatement")) {
+                return Proxy.newProxyInstance(
+                    WriteDetector.class.getClassLoader(),
+                    new Class<?>[] { Statement.class },
+                    new WriteDetector(result, onWrite)
+                );
+            }
+            return result;
+        }
+    }
+
+    private boolean isSticky() {
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .map(login -> {
+                Long until = stickyUntil.get(login);
+                return until != null && until > clock.getAsLong();
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Measure the replication lag with the configured query.
+     */
+    public void checkReplicaLag() {
+        if (!StringUtils.hasText(properties.getLagQuery())) {
+            return;
+        }
+        boolean inSync;
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+                inSync = lagSeconds * 1000 <= properties.getMaxLag().toMillis();
+                log.debug("Replica lag is {}s", lagSeconds);
+            }
+        } catch (SQLException e) {
+            log.debug("Could not measure the replica lag", e);
+            inSync = false;
+        }
+        if (inSync != replicaInSync) {
+            if (inSync) {
+                log.info("Replica caught up, read-only transactions are sent to the replica");
+            } else {
+                log.warn("Replica is late or unavailable, read-only transactions are sent to the primary");
+            }
+            replicaInSync = inSync;
+        }
+    }
+
+    /**
+     * @return whether the replica was in sync at the last check.
+     */
+    public boolean isReplicaInSync() {
+        return replicaInSync;
+    }
+}
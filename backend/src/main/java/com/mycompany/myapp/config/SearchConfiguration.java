@@ -0,0 +1,56 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.search.ProductTitleIndex;
+import com.mycompany.myapp.service.search.ProductTitleIndexCommitListener;
+import com.mycompany.myapp.service.search.ProductTitleIndexListener;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the in-memory search indexes up to date with the database.
+ */
+@Configuration
+public class SearchConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(SearchConfiguration.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ProductTitleIndex productTitleIndex;
+
+    private final ApplicationProperties applicationProperties;
+
+    public SearchConfiguration(
+        EntityManagerFactory entityManagerFactory,
+        ProductTitleIndex productTitleIndex,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.productTitleIndex = productTitleIndex;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @PostConstruct
+    public void registerIndexListeners() {
+        if (!applicationProperties.getSearch().getTitleIndex().isEnabled()) {
+            log.debug("Product title index is disabled");
+            return;
+        }
+        log.debug("Registering product title index listeners");
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        ProductTitleIndexCommitListener commitListener = new ProductTitleIndexCommitListener(productTitleIndex);
+        registry.appendListeners(EventType.POST_INSERT, new ProductTitleIndexListener(productTitleIndex));
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, commitListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, commitListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, commitListener);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.web.filter.RequestBulkheadFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Runs the servlet requests on virtual threads, when the {@code virtual-threads} profile is active, instead of the
+ * Undertow worker pool. Requests mostly wait for JDBC and Hazelcast. A virtual thread waiting inside a
+ * {@code synchronized} block, as Hikari and JDBC drivers use, still pins its carrier thread on JDK 21, and there are
+ * only as many carriers as cores by default: requests can thus still queue behind blocked carriers, which the
+ * connection pool and the bulkhead below keep short.
+ * <p>
+ * The application is built for Java 11, so virtual threads are looked up at runtime: on a Java runtime without them,
+ * the default worker pool is kept. The {@code @Async} tasks are switched in {@link AsyncConfiguration}.
+ * <p>
+ * A worker pool bounds the requests in flight, virtual threads do not: the API requests go through a
+ * {@link RequestBulkheadFilter} instead.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_VIRTUAL_THREADS)
+public class VirtualThreadConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadUndertowCustomizer() {
+        return factory ->
+            virtualThreadFactory("backend-request-")
+                .ifPresent(threadFactory -> {
+                    log.debug("Running servlet requests on virtual threads");
+                    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadFactory);
+                    factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor));
+                });
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestBulkheadFilter> requestBulkheadFilter(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.VirtualThreads properties = applicationProperties.getVirtualThreads();
+        FilterRegistrationBean<RequestBulkheadFilter> registration = new FilterRegistrationBean<>(
+            new RequestBulkheadFilter(properties.getMaxConcurrentRequests(), properties.getAcquireTimeout(), meterRegistry)
+        );
+        registration.addUrlPatterns("/api/*");
+        // Waiting requests should not have gone through authentication or any other filter yet
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Create a factory of virtual threads, with {@code Thread.ofVirtual().name(prefix, 0).factory()}.
+     *
+     * @param prefix the prefix of the thread names, followed by a counter.
+     * @return the thread factory, or an empty {@link Optional} if the Java runtime has no virtual threads.
+     */
+    public static Optional<ThreadFactory> virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on Java {}, platform threads are used", System.getProperty("java.version"));
+            return Optional.empty();
+        }
+    }
+}
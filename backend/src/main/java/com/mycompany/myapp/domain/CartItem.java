@@ -5,12 +5,16 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 /**
  * A CartItem.
  */
 @Entity
-@Table(name = "cart_item")
+@Table(
+    name = "cart_item",
+    uniqueConstraints = @UniqueConstraint(name = "ux_cart_item__login_product_id", columnNames = { "login", "product_id" })
+)
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class CartItem implements Serializable {
 
@@ -18,10 +22,20 @@ public class CartItem implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GenericGenerator(name = "sequenceGenerator", strategy = "com.mycompany.myapp.repository.PooledLoSequenceGenerator")
     @Column(name = "id")
     private Long id;
 
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "login", length = 50, nullable = false)
+    private String login;
+
+    @NotNull
+    @Min(value = 1)
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
     @ManyToOne(optional = false)
     @NotNull
     private Product product;
@@ -41,6 +55,32 @@ public class CartItem implements Serializable {
         this.id = id;
     }
 
+    public String getLogin() {
+        return this.login;
+    }
+
+    public CartItem login(String login) {
+        this.setLogin(login);
+        return this;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public Integer getQuantity() {
+        return this.quantity;
+    }
+
+    public CartItem quantity(Integer quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
     public Product getProduct() {
         return this.product;
     }
@@ -78,6 +118,8 @@ public class CartItem implements Serializable {
     public String toString() {
         return "CartItem{" +
             "id=" + getId() +
+            ", login='" + getLogin() + "'" +
+            ", quantity=" + getQuantity() +
             "}";
     }
 }
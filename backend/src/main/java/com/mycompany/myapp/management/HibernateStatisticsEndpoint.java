@@ -0,0 +1,58 @@
+package com.mycompany.myapp.management;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Management endpoint to enable or disable the Hibernate statistics and their meters at runtime, and to change the slow
+ * query threshold, e.g. {@code POST /management/hibernatestatistics} with {@code {"enabled": true}}.
+ */
+@Endpoint(id = "hibernatestatistics")
+public class HibernateStatisticsEndpoint {
+
+    private final MeteredStatistics statistics;
+
+    public HibernateStatisticsEndpoint(MeteredStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("slowQueryThreshold", statistics.getSlowQueryThreshold().toMillis());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+        String slowestQuery = statistics.getQueryExecutionMaxTimeQueryString();
+        result.put("queryExecutionMaxTimeQuery", slowestQuery == null ? null : MeteredStatistics.shapeOf(slowestQuery));
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        return result;
+    }
+
+    /**
+     * Enable or disable the statistics, or change the slow query threshold.
+     *
+     * @param enabled whether to enable the statistics, unchanged if {@code null}.
+     * @param slowQueryThreshold the slow query threshold in milliseconds, unchanged if {@code null}.
+     * @return the statistics.
+     */
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Long slowQueryThreshold) {
+        if (slowQueryThreshold != null) {
+            statistics.setSlowQueryThreshold(Duration.ofMillis(slowQueryThreshold));
+        }
+        if (enabled != null) {
+            // Not cleared, as the meters of the cache regions read the statistics of each region
+            statistics.setStatisticsEnabled(enabled);
+        }
+        return statistics();
+    }
+}
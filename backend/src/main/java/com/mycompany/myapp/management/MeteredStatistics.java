@@ -0,0 +1,179 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hibernate statistics which also publish the execution time of each query shape, and the hits, misses and puts of
+ * each second-level cache region, to Micrometer, and log the slow queries.
+ * <p>
+ * Like the Hibernate statistics, nothing is measured while they are disabled, and they can be enabled at runtime.
+ * Queries are identified by their HQL, with literals replaced by {@code ?} and parameter lists collapsed: bound
+ * parameters are never part of it, so neither the meters nor the log contain values.
+ */
+public class MeteredStatistics extends StatisticsImpl implements MeterBinder {
+
+    public static final String QUERY_METER_NAME = "hibernate.query.execution";
+    public static final String SLOW_QUERY_METER_NAME = "hibernate.query.slow";
+    public static final String CACHE_REQUESTS_METER_NAME = "hibernate.cache.region.requests";
+    public static final String CACHE_PUTS_METER_NAME = "hibernate.cache.region.puts";
+    public static final String OTHER_QUERIES = "other";
+
+    private static final Logger log = LoggerFactory.getLogger(MeteredStatistics.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.:?])-?\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*(?:\\?\\d*|:\\w+)(?:\\s*,\\s*(?:\\?\\d*|:\\w+))+\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Maximum number of queries whose timer is cached: further queries compute their shape on every execution.
+     */
+    static final int MAX_CACHED_QUERIES = 5000;
+
+    /**
+     * The timer of each query, cached, as many queries share a shape, e.g. with parameter lists of different lengths.
+     */
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+
+    /**
+     * The timer of each query shape, at most {@link #maxQueries} of them.
+     */
+    private final Map<String, Timer> shapeTimers = new ConcurrentHashMap<>();
+
+    private final int maxQueries;
+
+    private volatile Duration slowQueryThreshold;
+
+    private volatile MeterRegistry meterRegistry;
+
+    private volatile Counter slowQueries;
+
+    public MeteredStatistics(SessionFactoryImplementor sessionFactory, Duration slowQueryThreshold, int maxQueries) {
+        super(sessionFactory);
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.maxQueries = maxQueries;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        slowQueries =
+            Counter.builder(SLOW_QUERY_METER_NAME).description("Queries slower than the slow query threshold").register(registry);
+        for (String region : getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics;
+            try {
+                regionStatistics = getDomainDataRegionStatistics(region);
+            } catch (IllegalArgumentException e) {
+                // Query results and update timestamps regions, not used
+                continue;
+            }
+            cacheCounter(CACHE_REQUESTS_METER_NAME, region, regionStatistics, CacheRegionStatistics::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+            cacheCounter(CACHE_REQUESTS_METER_NAME, region, regionStatistics, CacheRegionStatistics::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+            cacheCounter(CACHE_PUTS_METER_NAME, region, regionStatistics, CacheRegionStatistics::getPutCount)
+                .register(registry);
+        }
+        meterRegistry = registry;
+    }
+
+    private static FunctionCounter.Builder<CacheRegionStatistics> cacheCounter(
+        String name,
+        String region,
+        CacheRegionStatistics regionStatistics,
+        ToDoubleFunction<CacheRegionStatistics> statistic
+    ) {
+        return FunctionCounter
+            .builder(name, regionStatistics, statistic)
+            .description("Second-level cache requests and puts, while the Hibernate statistics are enabled")
+            .tag(NearCacheMeterBinder.REGION_DIMENSION, region);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        // Timers are cached by query, as computing the shape on every execution would cost more than recording it
+        Timer timer = queryTimers.get(hql);
+        if (timer == null) {
+            timer = shapeTimer(shapeOf(hql), registry);
+            if (queryTimers.size() < MAX_CACHED_QUERIES) {
+                queryTimers.put(hql, timer);
+            }
+        }
+        timer.record(time, TimeUnit.MILLISECONDS);
+        if (time >= slowQueryThreshold.toMillis()) {
+            slowQueries.increment();
+            log.warn("Slow query in {} ms, {} rows: {}", time, rows, shapeOf(hql));
+        }
+    }
+
+    /**
+     * The timer of a query shape, or the shared one if {@link #maxQueries} shapes already have their own.
+     */
+    private Timer shapeTimer(String shape, MeterRegistry registry) {
+        Timer timer = shapeTimers.get(shape);
+        if (timer != null) {
+            return timer;
+        }
+        if (shapeTimers.size() >= maxQueries) {
+            return queryTimer(OTHER_QUERIES, registry);
+        }
+        return shapeTimers.computeIfAbsent(shape, key -> queryTimer(key, registry));
+    }
+
+    /**
+     * The timer of a query shape: registering it again returns the existing timer.
+     */
+    private static Timer queryTimer(String shape, MeterRegistry registry) {
+        return Timer
+            .builder(QUERY_METER_NAME)
+            .description("Executions of the queries, while the Hibernate statistics are enabled")
+            .tag("query", shape)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    /**
+     * The shape of a query: its HQL or SQL with string and numeric literals replaced by {@code ?}, lists of parameters
+     * collapsed to {@code (...)}, and whitespace normalized.
+     */
+    static String shapeOf(String query) {
+        String shape = STRING_LITERAL.matcher(query).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.management;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nearcache.NearCacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the near cache statistics of the Hazelcast maps backing the second-level cache regions.
+ */
+public class NearCacheMeterBinder implements MeterBinder {
+
+    public static final String HITS_METER_NAME = "cache.near.hits";
+    public static final String MISSES_METER_NAME = "cache.near.misses";
+    public static final String HIT_RATIO_METER_NAME = "cache.near.hit.ratio";
+    public static final String ENTRIES_METER_NAME = "cache.near.entries";
+    public static final String REGION_DIMENSION = "region";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final List<String> regions;
+
+    public NearCacheMeterBinder(HazelcastInstance hazelcastInstance, List<String> regions) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            IMap<Object, Object> map = hazelcastInstance.getMap(region);
+            FunctionCounter
+                .builder(HITS_METER_NAME, map, stats(NearCacheStats::getHits))
+                .description("Second-level cache reads served by the near cache")
+                .tag(REGION_DIMENSION, region)
+                .register(registry);
+            FunctionCounter
+                .builder(MISSES_METER_NAME, map, stats(NearCacheStats::getMisses))
+                .description("Second-level cache reads which missed the near cache")
+                .tag(REGION_DIMENSION, region)
+                .register(registry);
+            Gauge
+                .builder(HIT_RATIO_METER_NAME, map, stats(NearCacheMeterBinder::hitRatio))
+                .description("Share of the second-level cache reads served by the near cache")
+                .tag(REGION_DIMENSION, region)
+                .register(registry);
+            Gauge
+                .builder(ENTRIES_METER_NAME, map, stats(NearCacheStats::getOwnedEntryCount))
+                .description("Entries held by the near cache")
+                .tag(REGION_DIMENSION, region)
+                .register(registry);
+        }
+    }
+
+    private static ToDoubleFunction<IMap<Object, Object>> stats(ToDoubleFunction<NearCacheStats> statistic) {
+        return map -> {
+            NearCacheStats nearCacheStats = map.getLocalMapStats().getNearCacheStats();
+            // No statistics until the near cache is created, on the first read
+            return nearCacheStats == null ? 0 : statistic.applyAsDouble(nearCacheStats);
+        };
+    }
+
+    private static double hitRatio(NearCacheStats nearCacheStats) {
+        long reads = nearCacheStats.getHits() + nearCacheStats.getMisses();
+        return reads == 0 ? 0 : (double) nearCacheStats.getHits() / reads;
+    }
+}
@@ -13,16 +13,31 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_REQUESTS_METER_NAME = "security.authentication.token-cache.requests";
+    public static final String TOKEN_CACHE_REQUESTS_METER_DESCRIPTION = "Indicates lookups of verified tokens in the token cache.";
+    public static final String TOKEN_CACHE_REQUESTS_METER_RESULT_DIMENSION = "result";
+    public static final String TOKEN_CACHE_EVICTIONS_METER_NAME = "security.authentication.token-cache.evictions";
+    public static final String TOKEN_CACHE_EVICTIONS_METER_DESCRIPTION = "Indicates verified tokens removed from the token cache.";
+    public static final String TOKEN_CACHE_EVICTIONS_METER_CAUSE_DIMENSION = "cause";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Counter tokenCacheSizeEvictionCounter;
+    private final Counter tokenCacheExpiryEvictionCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenCacheHitCounter = tokenCacheRequestsCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheRequestsCounterForResultBuilder("miss").register(registry);
+        this.tokenCacheSizeEvictionCounter = tokenCacheEvictionsCounterForCauseBuilder("size").register(registry);
+        this.tokenCacheExpiryEvictionCounter = tokenCacheEvictionsCounterForCauseBuilder("expired").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -33,6 +48,20 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheRequestsCounterForResultBuilder(String result) {
+        return Counter
+            .builder(TOKEN_CACHE_REQUESTS_METER_NAME)
+            .description(TOKEN_CACHE_REQUESTS_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_REQUESTS_METER_RESULT_DIMENSION, result);
+    }
+
+    private Counter.Builder tokenCacheEvictionsCounterForCauseBuilder(String cause) {
+        return Counter
+            .builder(TOKEN_CACHE_EVICTIONS_METER_NAME)
+            .description(TOKEN_CACHE_EVICTIONS_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_EVICTIONS_METER_CAUSE_DIMENSION, cause);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -48,4 +77,20 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackTokenCacheSizeEviction() {
+        this.tokenCacheSizeEvictionCounter.increment();
+    }
+
+    public void trackTokenCacheExpiryEviction() {
+        this.tokenCacheExpiryEvictionCounter.increment();
+    }
 }
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+
+/**
+ * Tags the {@code http.server.requests} timers with the number of SQL statements prepared by the request, in ranges so
+ * that each endpoint only has a few series.
+ */
+public class StatementCountTagsContributor implements WebMvcTagsContributor {
+
+    public static final String STATEMENTS_TAG = "statements";
+
+    private static final long[] RANGE_BOUNDS = { 0, 1, 5, 10, 25, 50 };
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+        Object statements = request.getAttribute(StatementCounter.STATEMENTS_ATTRIBUTE);
+        // The tag must be on every timer of the same name, even for the requests which are not counted
+        return Tags.of(STATEMENTS_TAG, statements instanceof Long ? range((Long) statements) : "none");
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+
+    /**
+     * The range of a number of statements: {@code 0}, {@code 1}, {@code 2-5}, {@code 6-10}, {@code 11-25},
+     * {@code 26-50} or {@code 51+}.
+     */
+    static String range(long statements) {
+        long lowerBound = 0;
+        for (long upperBound : RANGE_BOUNDS) {
+            if (statements <= upperBound) {
+                return lowerBound == upperBound ? String.valueOf(upperBound) : lowerBound + "-" + upperBound;
+            }
+            lowerBound = upperBound + 1;
+        }
+        return lowerBound + "+";
+    }
+}
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.management;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate in the current thread, between {@link #start()} and {@link #stop()}.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Request attribute holding the number of statements prepared by the request, once handled.
+     */
+    public static final String STATEMENTS_ATTRIBUTE = StatementCounter.class.getName() + ".statements";
+
+    private final transient ThreadLocal<long[]> counts = new ThreadLocal<>();
+
+    public void start() {
+        counts.set(new long[1]);
+    }
+
+    public void increment() {
+        long[] count = counts.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    /**
+     * Stop counting.
+     *
+     * @return the number of statements since {@link #start()}, {@code 0} if not started.
+     */
+    public long stop() {
+        long[] count = counts.get();
+        counts.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        increment();
+        return sql;
+    }
+}
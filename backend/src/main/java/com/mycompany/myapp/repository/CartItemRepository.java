@@ -1,12 +1,62 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.CartItem;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the CartItem entity.
+ * <p>
+ * Cart items are always returned with their product, which is fetched in the same query.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CartItemRepository extends JpaRepository<CartItem, Long>, JpaSpecificationExecutor<CartItem> {}
+public interface CartItemRepository extends SeekRepository<CartItem, Long> {
+    @Override
+    @EntityGraph(attributePaths = "product")
+    Page<CartItem> findAll(@Nullable Specification<CartItem> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "product")
+    Slice<CartItem> findAllAfter(@Nullable Specification<CartItem> spec, @Nullable Long after, int size);
+
+    @Override
+    @EntityGraph(attributePaths = "product")
+    void scrollAll(@Nullable Specification<CartItem> spec, Consumer<? super CartItem> action);
+
+    @EntityGraph(attributePaths = "product")
+    List<CartItem> findAllByLoginOrderById(String login);
+
+    @EntityGraph(attributePaths = "product")
+    Page<CartItem> findAllByLogin(String login, Pageable pageable);
+
+    @EntityGraph(attributePaths = "product")
+    Optional<CartItem> findOneByIdAndLogin(Long id, String login);
+
+    /**
+     * Get the line of a product in a cart, locked until the end of the transaction so that concurrent additions of the
+     * product increase its quantity one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CartItem> findOneByLoginAndProductId(String login, Long productId);
+
+    /**
+     * Get the lines of a cart, locked until the end of the transaction so that concurrent changes to the cart are
+     * applied one after the other. Their products are not fetched in the same query, so that they are not locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<CartItem> findAllLockedByLoginOrderById(String login);
+
+    boolean existsByIdAndLogin(Long id, String login);
+
+    boolean existsByLoginAndProductIdAndIdNot(String login, Long productId, Long id);
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.repository;
+
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Identifier generator of the entities, allocating identifiers by blocks from the shared {@code sequence_generator}
+ * sequence with the {@code pooled-lo} optimizer.
+ * <p>
+ * Each {@code nextval} reserves the block of identifiers starting at the returned value, so inserts only reach the
+ * sequence once per block, and every cluster member allocates from its own blocks. The block size is read from the
+ * {@value #BLOCK_SIZE_SETTING} setting: it must be the increment of the sequence, which Hibernate checks at startup.
+ * <p>
+ * The {@code @SequenceGenerator} mapping it replaces already allocated blocks of 50 identifiers, with the
+ * {@code pooled} optimizer whose blocks end at the returned value: this generator makes the block size configurable.
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "sequence_generator";
+
+    public static final String BLOCK_SIZE_SETTING = "hibernate.id.sequence_generator.block_size";
+
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = serviceRegistry
+            .getService(ConfigurationService.class)
+            .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+        params.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        params.setProperty(INCREMENT_PARAM, Integer.toString(blockSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Product;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,16 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {}
+public interface ProductRepository extends SeekRepository<Product, Long> {
+    @Query("select product.id as id, product.title as title from Product product")
+    List<ProductTitle> findAllTitles();
+
+    /**
+     * Projection of a {@link Product} on its title.
+     */
+    interface ProductTitle {
+        Long getId();
+
+        String getTitle();
+    }
+}
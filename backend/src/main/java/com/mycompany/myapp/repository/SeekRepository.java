@@ -0,0 +1,80 @@
+package com.mycompany.myapp.repository;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+import javax.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+/**
+ * Spring Data SQL repository which can also page by key ("seek" or keyset pagination).
+ * <p>
+ * Instead of skipping the rows of the previous pages, a seek query starts right after the last id which was read,
+ * so reading a deep page costs the same as reading the first one, and no count query is run.
+ * Whole tables can also be read through a forward-only cursor, in constant memory, and counted by interval of an
+ * attribute without loading any entity.
+ *
+ * @param <T> the type of the entity.
+ * @param <ID> the type of the id of the entity.
+ */
+@NoRepositoryBean
+public interface SeekRepository<T, ID extends Serializable & Comparable<ID>> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+    /**
+     * Returns the entities matching the given {@link Specification} whose id is greater than {@code after}, ordered by id.
+     *
+     * @param spec the specification to match, can be {@literal null}.
+     * @param after the id to start after, or {@literal null} to start with the first entity.
+     * @param size the maximum number of entities to return.
+     * @return a slice of at most {@code size} entities, which knows whether more entities follow.
+     */
+    Slice<T> findAllAfter(@Nullable Specification<T> spec, @Nullable ID after, int size);
+
+    /**
+     * Reads the entities matching the given {@link Specification} through a forward-only cursor, ordered by id.
+     * <p>
+     * The entities loaded through the cursor are evicted from the persistence context as rows are read, so they must
+     * not be used after {@code action} returns. The entities which were already managed by the current transaction
+     * are kept.
+     *
+     * @param spec the specification to match, can be {@literal null}.
+     * @param action the action to perform on each entity.
+     */
+    void scrollAll(@Nullable Specification<T> spec, Consumer<? super T> action);
+
+    /**
+     * Finds the lowest and highest values of an attribute among the entities matching the given {@link Specification},
+     * in a single aggregate query.
+     *
+     * @param spec the specification to match, can be {@literal null}.
+     * @param attribute the attribute to aggregate.
+     * @param <V> the type of the attribute.
+     * @return the closed range of the non-null values of the attribute, or empty if no entity has one.
+     */
+    <V extends Comparable<? super V>> Optional<Range<V>> findRange(@Nullable Specification<T> spec, SingularAttribute<T, V> attribute);
+
+    /**
+     * Counts the entities matching the given {@link Specification} by interval of a numeric attribute, in a single
+     * grouped query: interval {@code i} holds the values from {@code from + i * width} inclusive to
+     * {@code from + (i + 1) * width} exclusive.
+     *
+     * @param spec the specification to match, can be {@literal null}.
+     * @param attribute the attribute to group the entities by.
+     * @param from the lower bound of the first interval.
+     * @param width the width of the intervals, which must be positive.
+     * @return the number of matching entities in each interval which has some, by interval index.
+     */
+    SortedMap<Integer, Long> countByInterval(
+        @Nullable Specification<T> spec,
+        SingularAttribute<T, BigDecimal> attribute,
+        BigDecimal from,
+        BigDecimal width
+    );
+}
@@ -0,0 +1,187 @@
+package com.mycompany.myapp.repository;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+
+/**
+ * Base class of the Spring Data SQL repositories, which implements {@link SeekRepository}.
+ *
+ * @param <T> the type of the entity.
+ * @param <ID> the type of the id of the entity.
+ */
+public class SimpleSeekRepository<T, ID extends Serializable & Comparable<ID>>
+    extends SimpleJpaRepository<T, ID>
+    implements SeekRepository<T, ID> {
+
+    private static final int SCROLL_FETCH_SIZE = 500;
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+
+    private final EntityManager em;
+
+    public SimpleSeekRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.em = entityManager;
+    }
+
+    @Override
+    public Slice<T> findAllAfter(@Nullable Specification<T> spec, @Nullable ID after, int size) {
+        // One more row is read, to know whether there is a next slice without running a count query
+        TypedQuery<T> query = createOrderedByIdQuery(spec, after).setMaxResults(size + 1);
+        List<T> content = query.getResultList();
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size, Sort.by(getIdName())), hasNext);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scrollAll(@Nullable Specification<T> spec, Consumer<? super T> action) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        // The entities managed by the caller are left alone: only the ones loaded through the cursor are evicted
+        Set<EntityKey> callerEntities = new HashSet<>(session.getPersistenceContextInternal().getEntitiesByKey().keySet());
+        Query<T> query = createOrderedByIdQuery(spec, null).unwrap(Query.class);
+        query.setFetchSize(SCROLL_FETCH_SIZE).setReadOnly(true);
+        ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            int count = 0;
+            while (results.next()) {
+                action.accept((T) results.get(0));
+                if (++count % SCROLL_FETCH_SIZE == 0) {
+                    // The rows which were processed are not needed anymore, so the memory used stays constant
+                    evictAllExcept(session, callerEntities);
+                }
+            }
+        } finally {
+            results.close();
+            evictAllExcept(session, callerEntities);
+        }
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> Optional<Range<V>> findRange(
+        @Nullable Specification<T> spec,
+        SingularAttribute<T, V> attribute
+    ) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        Path<V> value = root.get(attribute);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(builder.least(value), builder.greatest(value));
+
+        Tuple tuple = em.createQuery(query).getSingleResult();
+        V min = tuple.get(0, attribute.getJavaType());
+        V max = tuple.get(1, attribute.getJavaType());
+        return min == null ? Optional.empty() : Optional.of(Range.closed(min, max));
+    }
+
+    @Override
+    public SortedMap<Integer, Long> countByInterval(
+        @Nullable Specification<T> spec,
+        SingularAttribute<T, BigDecimal> attribute,
+        BigDecimal from,
+        BigDecimal width
+    ) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        // The numeric literals are inlined, so that the grouped expression is the same as the selected one
+        Expression<Number> interval = builder.function(
+            "floor",
+            Number.class,
+            builder.quot(builder.diff(root.get(attribute), builder.literal(from)), builder.literal(width))
+        );
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Only one row per interval is read, no entity is loaded
+        query.multiselect(interval, builder.count(root)).groupBy(interval);
+
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        for (Tuple tuple : em.createQuery(query).getResultList()) {
+            Number index = tuple.get(0, Number.class);
+            if (index != null) {
+                counts.merge(index.intValue(), tuple.get(1, Long.class), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private TypedQuery<T> createOrderedByIdQuery(@Nullable Specification<T> spec, @Nullable ID after) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(getDomainClass());
+        Root<T> root = query.from(getDomainClass());
+        Path<ID> id = root.get(getIdName());
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (after != null) {
+            Predicate idPredicate = builder.greaterThan(id, after);
+            predicate = predicate == null ? idPredicate : builder.and(predicate, idPredicate);
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(builder.asc(id));
+
+        TypedQuery<T> typedQuery = em.createQuery(query);
+        getQueryHints().withFetchGraphs(em).forEach(typedQuery::setHint);
+        return typedQuery;
+    }
+
+    private static void evictAllExcept(SessionImplementor session, Set<EntityKey> keys) {
+        List<Object> evicted = new ArrayList<>();
+        for (Map.Entry<EntityKey, Object> entry : session.getPersistenceContextInternal().getEntitiesByKey().entrySet()) {
+            if (!keys.contains(entry.getKey())) {
+                evicted.add(entry.getValue());
+            }
+        }
+        evicted.forEach(session::evict);
+    }
+
+    private String getIdName() {
+        return entityInformation.getRequiredIdAttribute().getName();
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.security;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.GenericFilterBean;
+
+/**
+ * Filters incoming requests without a user, and installs the anonymous owner of a cart as principal if a header
+ * carrying a cart id is found.
+ * <p>
+ * The cart id is a random UUID generated by the client, and acts as a bearer secret for that cart only: its principal,
+ * {@code cart:<id>}, cannot be a user login, and it only has the {@link AuthoritiesConstants#ANONYMOUS} authority.
+ */
+public class CartIdFilter extends GenericFilterBean {
+
+    public static final String CART_ID_HEADER = "X-Cart-Id";
+
+    public static final String CART_PRINCIPAL_PREFIX = "cart:";
+
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+        throws IOException, ServletException {
+        String cartId = ((HttpServletRequest) servletRequest).getHeader(CART_ID_HEADER);
+        if (SecurityContextHolder.getContext().getAuthentication() == null && cartId != null && UUID_PATTERN.matcher(cartId).matches()) {
+            SecurityContextHolder
+                .getContext()
+                .setAuthentication(
+                    new UsernamePasswordAuthenticationToken(
+                        CART_PRINCIPAL_PREFIX + UUID.fromString(cartId),
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS))
+                    )
+                );
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+}
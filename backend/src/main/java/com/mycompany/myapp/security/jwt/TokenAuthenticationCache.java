@@ -0,0 +1,165 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Size-bounded cache of the principal and authorities of already verified tokens, so that a token reused for many
+ * requests has its signature verified and its claims parsed only once. Each hit builds a new {@link Authentication},
+ * so that requests never share a mutable one.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash. An entry is never returned after the {@code exp} claim of its token, and
+ * expired entries are evicted as new tokens are cached. As tokens have different validities (remember-me tokens last
+ * much longer), entries are kept in the order of their expiry: when the cache is full, the entries expiring first are
+ * evicted first, the oldest ones among those expiring at the same time.
+ */
+public class TokenAuthenticationCache {
+
+    private static final Comparator<Entry> EXPIRY_ORDER = Comparator
+        .comparingLong((Entry entry) -> entry.expiresAt)
+        .thenComparingLong(entry -> entry.sequence);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final NavigableSet<Entry> expiryOrder = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int maxSize;
+
+    private final SecurityMetersService securityMetersService;
+
+    private final LongSupplier clock;
+
+    public TokenAuthenticationCache(int maxSize, SecurityMetersService securityMetersService) {
+        this(maxSize, securityMetersService, System::currentTimeMillis);
+    }
+
+    TokenAuthenticationCache(int maxSize, SecurityMetersService securityMetersService, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.securityMetersService = securityMetersService;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the authentication of a token verified earlier.
+     *
+     * @param token the JWT.
+     * @return a new authentication, or an empty {@link Optional} if the token is not cached or has expired.
+     */
+    public Optional<Authentication> get(String token) {
+        if (maxSize <= 0) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(hash(token));
+        if (entry == null || entry.isExpired(clock.getAsLong())) {
+            securityMetersService.trackTokenCacheMiss();
+            return Optional.empty();
+        }
+        securityMetersService.trackTokenCacheHit();
+        return Optional.of(new UsernamePasswordAuthenticationToken(entry.principal, token, entry.authorities));
+    }
+
+    /**
+     * Cache the principal and authorities of a verified token until the token expires.
+     *
+     * @param token the JWT.
+     * @param authentication the authentication built from the token.
+     * @param expiresAt the {@code exp} claim of the token, in milliseconds since the epoch.
+     */
+    public void put(String token, Authentication authentication, long expiresAt) {
+        if (maxSize <= 0 || expiresAt <= clock.getAsLong()) {
+            return;
+        }
+        String key = hash(token);
+        Entry entry = new Entry(key, authentication, expiresAt, sequence.incrementAndGet());
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            expiryOrder.remove(previous);
+        }
+        expiryOrder.add(entry);
+        evictExpired();
+        while (entries.size() > maxSize) {
+            Entry first = expiryOrder.pollFirst();
+            if (first == null) {
+                break;
+            }
+            if (entries.remove(first.key, first)) {
+                securityMetersService.trackTokenCacheSizeEviction();
+            }
+        }
+    }
+
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        for (Iterator<Entry> iterator = expiryOrder.iterator(); iterator.hasNext();) {
+            Entry entry = iterator.next();
+            if (!entry.isExpired(now)) {
+                return;
+            }
+            iterator.remove();
+            if (entries.remove(entry.key, entry)) {
+                securityMetersService.trackTokenCacheExpiryEviction();
+            }
+        }
+    }
+
+    /**
+     * @return the number of cached tokens, including expired ones which were not evicted yet.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+
+        private final Object principal;
+
+        private final Collection<? extends GrantedAuthority> authorities;
+
+        private final long expiresAt;
+
+        private final long sequence;
+
+        private Entry(String key, Authentication authentication, long expiresAt, long sequence) {
+            this.key = key;
+            this.principal = authentication.getPrincipal();
+            this.authorities = List.copyOf(authentication.getAuthorities());
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myapp.security.jwt;
+
+import java.util.Optional;
+import org.springframework.security.core.Authentication;
+
+/**
+ * The outcome of {@link TokenProvider#authenticate(String)}: either the {@link Authentication} carried by a valid
+ * token, or the reason why the token was rejected.
+ */
+public final class TokenAuthenticationResult {
+
+    /**
+     * Why a token was rejected.
+     */
+    public enum Failure {
+        EXPIRED,
+        UNSUPPORTED,
+        MALFORMED,
+        INVALID_SIGNATURE,
+        ILLEGAL_ARGUMENT
+    }
+
+    private final Authentication authentication;
+
+    private final Failure failure;
+
+    private TokenAuthenticationResult(Authentication authentication, Failure failure) {
+        this.authentication = authentication;
+        this.failure = failure;
+    }
+
+    public static TokenAuthenticationResult success(Authentication authentication) {
+        return new TokenAuthenticationResult(authentication, null);
+    }
+
+    public static TokenAuthenticationResult failure(Failure failure) {
+        return new TokenAuthenticationResult(null, failure);
+    }
+
+    public boolean isValid() {
+        return authentication != null;
+    }
+
+    public Optional<Authentication> getAuthentication() {
+        return Optional.ofNullable(authentication);
+    }
+
+    public Optional<Failure> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "TokenAuthenticationResult{valid}" : "TokenAuthenticationResult{failure=" + failure + "}";
+    }
+}
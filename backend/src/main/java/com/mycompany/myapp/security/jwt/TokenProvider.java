@@ -1,5 +1,6 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.management.SecurityMetersService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -39,7 +40,13 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
+    private final TokenAuthenticationCache authenticationCache;
+
+    public TokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        SecurityMetersService securityMetersService
+    ) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -60,6 +67,8 @@ public class TokenProvider {
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
         this.securityMetersService = securityMetersService;
+        this.authenticationCache =
+            new TokenAuthenticationCache(applicationProperties.getSecurity().getTokenCache().getMaxSize(), securityMetersService);
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -82,45 +91,87 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Validate the token and build its {@link Authentication}, parsing and verifying the token only once.
+     * Rejected tokens are tracked by the {@link SecurityMetersService}.
+     * <p>
+     * The authentication of a valid token is cached until the token expires, so that the following requests
+     * with the same token are neither verified nor parsed again.
+     *
+     * @param token the JWT to check.
+     * @return the authentication of a valid token, or the reason why it was rejected.
+     */
+    public TokenAuthenticationResult authenticate(String token) {
+        Optional<Authentication> cachedAuthentication = authenticationCache.get(token);
+        if (cachedAuthentication.isPresent()) {
+            return TokenAuthenticationResult.success(cachedAuthentication.get());
+        }
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            return reject(TokenAuthenticationResult.Failure.EXPIRED, e);
+        } catch (UnsupportedJwtException e) {
+            return reject(TokenAuthenticationResult.Failure.UNSUPPORTED, e);
+        } catch (MalformedJwtException e) {
+            return reject(TokenAuthenticationResult.Failure.MALFORMED, e);
+        } catch (SignatureException e) {
+            return reject(TokenAuthenticationResult.Failure.INVALID_SIGNATURE, e);
+        } catch (IllegalArgumentException e) {
+            // An empty token is rejected like any other invalid token, instead of failing the request
+            log.error("Token validation error {}", e.getMessage());
+            return TokenAuthenticationResult.failure(TokenAuthenticationResult.Failure.ILLEGAL_ARGUMENT);
+        }
+        Authentication authentication = toAuthentication(claims, token);
+        if (claims.getExpiration() != null) {
+            authenticationCache.put(token, authentication, claims.getExpiration().getTime());
+        }
+        return TokenAuthenticationResult.success(authentication);
+    }
+
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return toAuthentication(claims, token);
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
+        return authenticate(authToken).isValid();
+    }
 
-            return true;
-        } catch (ExpiredJwtException e) {
-            this.securityMetersService.trackTokenExpired();
+    private Authentication toAuthentication(Claims claims, String token) {
+        List<GrantedAuthority> authorities = toAuthorities(claims.get(AUTHORITIES_KEY).toString());
 
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (UnsupportedJwtException e) {
-            this.securityMetersService.trackTokenUnsupported();
+        User principal = new User(claims.getSubject(), "", authorities);
 
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (MalformedJwtException e) {
-            this.securityMetersService.trackTokenMalformed();
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
 
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (SignatureException e) {
-            this.securityMetersService.trackTokenInvalidSignature();
+    private static List<GrantedAuthority> toAuthorities(String authorities) {
+        return Arrays
+            .stream(authorities.split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+    }
 
-            log.trace(INVALID_JWT_TOKEN, e);
-        } catch (IllegalArgumentException e) { // TODO: should we let it bubble (no catch), to avoid defensive programming and follow the fail-fast principle?
-            log.error("Token validation error {}", e.getMessage());
+    private TokenAuthenticationResult reject(TokenAuthenticationResult.Failure failure, JwtException e) {
+        switch (failure) {
+            case EXPIRED:
+                this.securityMetersService.trackTokenExpired();
+                break;
+            case UNSUPPORTED:
+                this.securityMetersService.trackTokenUnsupported();
+                break;
+            case MALFORMED:
+                this.securityMetersService.trackTokenMalformed();
+                break;
+            case INVALID_SIGNATURE:
+                this.securityMetersService.trackTokenInvalidSignature();
+                break;
+            default:
+                break;
         }
-
-        return false;
+        log.trace(INVALID_JWT_TOKEN, e);
+        return TokenAuthenticationResult.failure(failure);
     }
 }
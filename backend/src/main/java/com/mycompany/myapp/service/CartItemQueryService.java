@@ -3,18 +3,22 @@ package com.mycompany.myapp.service;
 import com.mycompany.myapp.domain.*; // for static metamodels
 import com.mycompany.myapp.domain.CartItem;
 import com.mycompany.myapp.repository.CartItemRepository;
+import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.criteria.CartItemCriteria;
 import com.mycompany.myapp.service.dto.CartItemDTO;
 import com.mycompany.myapp.service.mapper.CartItemMapper;
 
 import java.util.List;
+import java.util.function.Consumer;
 import javax.persistence.criteria.JoinType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
@@ -24,6 +28,7 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link CartItemCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link List} of {@link CartItemDTO} or a {@link Page} of {@link CartItemDTO} which fulfills the criteria.
+ * Only the cart items of the current user are returned.
  */
 @Service
 @Transactional(readOnly = true)
@@ -50,10 +55,37 @@ public class CartItemQueryService extends QueryService<CartItem> {
     @Transactional(readOnly = true)
     public Page<CartItemDTO> findByCriteria(CartItemCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<CartItem> specification = createSpecification(criteria);
+        final Specification<CartItem> specification = createSpecification(criteria).and(ownedByCurrentUser());
         return cartItemRepository.findAll(specification, page).map(cartItemMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link CartItemDTO} which matches the criteria from the database, starting after the given id.
+     *
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after    The id of the last entity of the previous slice, or {@code null} to start with the first entity.
+     * @param size     The maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CartItemDTO> findByCriteriaAfter(CartItemCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, after, size);
+        final Specification<CartItem> specification = createSpecification(criteria).and(ownedByCurrentUser());
+        return cartItemRepository.findAllAfter(specification, after, size).map(cartItemMapper::toDto);
+    }
+
+    /**
+     * Pass each {@link CartItemDTO} which matches the criteria to the given action, reading the database through a cursor.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param action The action to perform on each matching entity, in id order.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(CartItemCriteria criteria, Consumer<CartItemDTO> action) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<CartItem> specification = createSpecification(criteria).and(ownedByCurrentUser());
+        cartItemRepository.scrollAll(specification, cartItem -> action.accept(cartItemMapper.toDto(cartItem)));
+    }
+
     /**
      * Function to convert {@link CartItemCriteria} to a {@link Specification}
      *
@@ -78,4 +110,9 @@ public class CartItemQueryService extends QueryService<CartItem> {
         }
         return specification;
     }
+
+    private Specification<CartItem> ownedByCurrentUser() {
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new AccessDeniedException("Current user login not found"));
+        return (root, query, builder) -> builder.equal(root.get(CartItem_.login), login);
+    }
 }
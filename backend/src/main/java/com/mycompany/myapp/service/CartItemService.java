@@ -1,64 +1,136 @@
 package com.mycompany.myapp.service;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
 import com.mycompany.myapp.domain.CartItem;
+import com.mycompany.myapp.domain.Product;
 import com.mycompany.myapp.repository.CartItemRepository;
+import com.mycompany.myapp.repository.ProductRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.dto.CartDTO;
 import com.mycompany.myapp.service.dto.CartItemDTO;
+import com.mycompany.myapp.service.dto.CartOperationDTO;
 import com.mycompany.myapp.service.mapper.CartItemMapper;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Optional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link CartItem}.
+ * <p>
+ * Cart items belong to the current user, who has at most one line per product.
  */
 @Service
 @Transactional
 public class CartItemService {
 
+    public static final String BATCHES_MAP_NAME = "cart-batches";
+
+    public static final String CART_LOCKS_MAP_NAME = "cart-locks";
+
+    /**
+     * How long the ids of the applied batches are remembered, which bounds how late a client may retry a batch.
+     */
+    private static final Duration BATCH_RETENTION = Duration.ofDays(1);
+
+    /**
+     * How long a cart stays locked if the transaction which locked it never completes.
+     */
+    private static final Duration CART_LOCK_LEASE = Duration.ofMinutes(1);
+
     private final Logger log = LoggerFactory.getLogger(CartItemService.class);
 
     private final CartItemRepository cartItemRepository;
 
+    private final ProductRepository productRepository;
+
     private final CartItemMapper cartItemMapper;
 
-    public CartItemService(CartItemRepository cartItemRepository, CartItemMapper cartItemMapper) {
+    /**
+     * The batches which were applied ({@code true}), or which are being applied ({@code false}), by login and batch id.
+     */
+    private final IMap<String, Boolean> batches;
+
+    /**
+     * The locks of the carts being changed by a batch, by login: the keys have no value.
+     */
+    private final IMap<String, Boolean> cartLocks;
+
+    public CartItemService(
+        CartItemRepository cartItemRepository,
+        ProductRepository productRepository,
+        CartItemMapper cartItemMapper,
+        HazelcastInstance hazelcastInstance
+    ) {
         this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
         this.cartItemMapper = cartItemMapper;
+        this.batches = hazelcastInstance.getMap(BATCHES_MAP_NAME);
+        this.cartLocks = hazelcastInstance.getMap(CART_LOCKS_MAP_NAME);
     }
 
     /**
-     * Save a cartItem.
+     * Add a product to the cart of the current user.
+     * If the cart already has a line for this product, its quantity is increased while the line is locked, so that
+     * concurrent additions are not lost. If a concurrent addition creates the line first, the transaction fails on the
+     * unique constraint with a {@link org.springframework.dao.DataIntegrityViolationException}.
      *
      * @param cartItemDTO the entity to save.
      * @return the persisted entity.
      */
     public CartItemDTO save(CartItemDTO cartItemDTO) {
         log.debug("Request to save CartItem : {}", cartItemDTO);
-        CartItem cartItem = cartItemMapper.toEntity(cartItemDTO);
+        String login = getCurrentUserLogin();
+        int quantity = cartItemDTO.getQuantity() == null ? 1 : cartItemDTO.getQuantity();
+        CartItem cartItem = cartItemRepository
+            .findOneByLoginAndProductId(login, cartItemDTO.getProduct().getId())
+            .map(existingCartItem -> existingCartItem.quantity(existingCartItem.getQuantity() + quantity))
+            .orElseGet(() -> cartItemMapper.toEntity(cartItemDTO).login(login).quantity(quantity));
         cartItem = cartItemRepository.save(cartItem);
         return cartItemMapper.toDto(cartItem);
     }
 
     /**
-     * Update a cartItem.
+     * Update a cartItem of the current user.
      *
      * @param cartItemDTO the entity to save.
      * @return the persisted entity.
      */
     public CartItemDTO update(CartItemDTO cartItemDTO) {
         log.debug("Request to save CartItem : {}", cartItemDTO);
-        CartItem cartItem = cartItemMapper.toEntity(cartItemDTO);
+        CartItem cartItem = cartItemMapper.toEntity(cartItemDTO).login(getCurrentUserLogin());
+        if (cartItem.getQuantity() == null) {
+            cartItem.setQuantity(1);
+        }
         cartItem = cartItemRepository.save(cartItem);
         return cartItemMapper.toDto(cartItem);
     }
 
     /**
-     * Get all the cartItems.
+     * Get all the cartItems of the current user.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -66,11 +138,186 @@ public class CartItemService {
     @Transactional(readOnly = true)
     public Page<CartItemDTO> findAll(Pageable pageable) {
         log.debug("Request to get all CartItems");
-        return cartItemRepository.findAll(pageable).map(cartItemMapper::toDto);
+        return cartItemRepository.findAllByLogin(getCurrentUserLogin(), pageable).map(cartItemMapper::toDto);
+    }
+
+    /**
+     * Get the cart of the current user, with its total price.
+     *
+     * @return the cart.
+     */
+    @Transactional(readOnly = true)
+    public CartDTO findCart() {
+        log.debug("Request to get the Cart");
+        return toCart(cartItemRepository.findAllByLoginOrderById(getCurrentUserLogin()));
     }
 
     /**
-     * Get one cartItem by id.
+     * Apply operations to the cart of the current user, in order and in the current transaction: either all of them
+     * are applied, or none.
+     * <p>
+     * The cart is locked in the cluster until the end of the transaction, even when it has no line yet, so that concurrent
+     * batches are applied one after the other; its lines are locked in the database as well, against concurrent single
+     * additions. The cart and the products are read once, the operations are applied to the lines in memory, and the
+     * resulting inserts, updates and deletes are sent in JDBC batches when the transaction is flushed. Added quantities
+     * are capped at {@link CartOperationDTO#MAX_QUANTITY}.
+     * <p>
+     * A batch with an id is applied at most once: retrying it, once applied or while it is being applied, returns the
+     * current cart once it is applied.
+     *
+     * @param batchId the id of the batch, or {@code null} if the client does not retry batches.
+     * @param operations the operations to apply.
+     * @return the resulting cart, or empty if one of the products does not exist, in which case nothing is applied.
+     */
+    public Optional<CartDTO> applyOperations(UUID batchId, List<CartOperationDTO> operations) {
+        log.debug("Request to apply {} operations to the Cart", operations.size());
+        String login = getCurrentUserLogin();
+        lockCart(login);
+        List<CartItem> lockedLines = cartItemRepository.findAllLockedByLoginOrderById(login);
+        // The products of the lines are not fetched with them, so they are read along with the products of the operations
+        Set<Long> lineProductIds = lockedLines.stream().map(line -> line.getProduct().getId()).collect(Collectors.toSet());
+        if (batchId != null && !startBatch(login, batchId)) {
+            log.debug("Batch {} was already applied to the Cart", batchId);
+            productRepository.findAllById(lineProductIds);
+            return Optional.of(toCart(lockedLines));
+        }
+        Set<Long> productIds = operations.stream().map(CartOperationDTO::getProductId).collect(Collectors.toSet());
+        Set<Long> allProductIds = new HashSet<>(productIds);
+        allProductIds.addAll(lineProductIds);
+        Map<Long, Product> products = productRepository
+            .findAllById(allProductIds)
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (!products.keySet().containsAll(productIds)) {
+            return Optional.empty();
+        }
+
+        Map<Long, CartItem> existingLines = new HashMap<>();
+        lockedLines.forEach(line -> existingLines.put(line.getProduct().getId(), line));
+        Map<Long, CartItem> lines = new LinkedHashMap<>(existingLines);
+        for (CartOperationDTO operation : operations) {
+            Long productId = operation.getProductId();
+            CartItem line = lines.get(productId);
+            switch (operation.getType()) {
+                case ADD:
+                    int quantity = operation.getQuantity() == null ? 1 : operation.getQuantity();
+                    if (line != null) {
+                        line.setQuantity(Math.min(line.getQuantity() + quantity, CartOperationDTO.MAX_QUANTITY));
+                    } else if (quantity > 0) {
+                        lines.put(productId, createLine(existingLines, login, products.get(productId), quantity));
+                    }
+                    break;
+                case REMOVE:
+                    lines.remove(productId);
+                    break;
+                case SET_QUANTITY:
+                    if (operation.getQuantity() == 0) {
+                        lines.remove(productId);
+                    } else if (line != null) {
+                        line.setQuantity(operation.getQuantity());
+                    } else {
+                        lines.put(productId, createLine(existingLines, login, products.get(productId), operation.getQuantity()));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown cart operation " + operation.getType());
+            }
+        }
+
+        List<CartItem> removedLines = new ArrayList<>(existingLines.values());
+        removedLines.removeAll(lines.values());
+        cartItemRepository.deleteAll(removedLines);
+        List<CartItem> newLines = lines.values().stream().filter(line -> line.getId() == null).collect(Collectors.toList());
+        cartItemRepository.saveAll(newLines);
+        List<CartItem> cartItems = new ArrayList<>(lines.values());
+        cartItems.sort(Comparator.comparing(CartItem::getId));
+        return Optional.of(toCart(cartItems));
+    }
+
+    /**
+     * Lock the cart in the cluster until the transaction completes.
+     */
+    private void lockCart(String login) {
+        cartLocks.lock(login, CART_LOCK_LEASE.toMillis(), TimeUnit.MILLISECONDS);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        cartLocks.unlock(login);
+                    } catch (IllegalMonitorStateException e) {
+                        log.warn("The lock of the Cart of {} expired before its transaction completed", login);
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Record that the batch is being applied, until the transaction completes: it is then either applied, or forgotten
+     * so that it can be retried.
+     *
+     * @return {@code false} if the batch was already applied.
+     * @throws ConcurrencyFailureException if the batch is still being applied by another transaction, whose lock of the
+     * cart expired.
+     */
+    private boolean startBatch(String login, UUID batchId) {
+        String key = login + ":" + batchId;
+        Boolean applied = batches.putIfAbsent(key, Boolean.FALSE, BATCH_RETENTION.toMillis(), TimeUnit.MILLISECONDS);
+        if (Boolean.TRUE.equals(applied)) {
+            return false;
+        }
+        if (applied != null) {
+            throw new ConcurrencyFailureException("Batch " + batchId + " is being applied");
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // Before the cart is unlocked, so that a retry waiting for the lock finds the batch applied
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        batches.put(key, Boolean.TRUE, BATCH_RETENTION.toMillis(), TimeUnit.MILLISECONDS);
+                    } else {
+                        batches.delete(key);
+                    }
+                }
+            }
+        );
+        return true;
+    }
+
+    /**
+     * Create a line, or bring back the existing line of the product if an earlier operation removed it: deleting it and
+     * inserting a new one would break the unique constraint on the login and product, as inserts are flushed first.
+     */
+    private static CartItem createLine(Map<Long, CartItem> existingLines, String login, Product product, int quantity) {
+        CartItem existingLine = existingLines.get(product.getId());
+        if (existingLine != null) {
+            return existingLine.quantity(quantity);
+        }
+        return new CartItem().login(login).product(product).quantity(quantity);
+    }
+
+    private CartDTO toCart(List<CartItem> cartItems) {
+        List<CartItemDTO> items = cartItemMapper.toDto(cartItems);
+        CartDTO cart = new CartDTO();
+        cart.setItems(items);
+        cart.setTotal(
+            items
+                .stream()
+                .map(item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+        );
+        return cart;
+    }
+
+    /**
+     * Get one cartItem of the current user by id.
      *
      * @param id the id of the entity.
      * @return the entity.
@@ -78,16 +325,20 @@ public class CartItemService {
     @Transactional(readOnly = true)
     public Optional<CartItemDTO> findOne(Long id) {
         log.debug("Request to get CartItem : {}", id);
-        return cartItemRepository.findById(id).map(cartItemMapper::toDto);
+        return cartItemRepository.findOneByIdAndLogin(id, getCurrentUserLogin()).map(cartItemMapper::toDto);
     }
 
     /**
-     * Delete the cartItem by id.
+     * Delete the cartItem of the current user by id.
      *
      * @param id the id of the entity.
      */
     public void delete(Long id) {
         log.debug("Request to delete CartItem : {}", id);
-        cartItemRepository.deleteById(id);
+        cartItemRepository.findOneByIdAndLogin(id, getCurrentUserLogin()).ifPresent(cartItemRepository::delete);
+    }
+
+    private String getCurrentUserLogin() {
+        return SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new AccessDeniedException("Current user login not found"));
     }
 }
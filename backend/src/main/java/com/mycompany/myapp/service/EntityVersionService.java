@@ -0,0 +1,124 @@
+package com.mycompany.myapp.service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping a version counter per entity type, shared by the cluster members through Hazelcast.
+ * <p>
+ * The version changes after every committed write of an entity of the type, so it identifies the state of all the
+ * representations of that type, and is used to answer conditional requests without reading the database.
+ * <p>
+ * The transactions reading data tagged with a version are marked with {@link #markVersionedRead()}, so that they are
+ * not sent to a lagging replica, which would return data prior to that version under its tag.
+ */
+@Service
+public class EntityVersionService {
+
+    public static final String VERSIONS_MAP_NAME = "entity-versions";
+
+    private static final String VERSIONED_READ_RESOURCE = EntityVersionService.class.getName() + ".VERSIONED_READ";
+
+    private final Logger log = LoggerFactory.getLogger(EntityVersionService.class);
+
+    private final IMap<String, Long> versions;
+
+    public EntityVersionService(HazelcastInstance hazelcastInstance) {
+        this.versions = hazelcastInstance.getMap(VERSIONS_MAP_NAME);
+    }
+
+    /**
+     * Get the current version of an entity type.
+     *
+     * @param entityClass the entity type.
+     * @return the version.
+     */
+    public long getVersion(Class<?> entityClass) {
+        String key = entityClass.getName();
+        Long version = versions.get(key);
+        if (version == null) {
+            // Starting from the current time, so that versions are not reused after the whole cluster restarts
+            Long initial = System.currentTimeMillis();
+            version = versions.putIfAbsent(key, initial);
+            return version == null ? initial : version;
+        }
+        return version;
+    }
+
+    /**
+     * Change the version of an entity type once the current transaction commits, or immediately without transaction.
+     * <p>
+     * Changing it earlier would let a concurrent read tag the data it is reading before the commit with the new version.
+     *
+     * @param entityClass the entity type.
+     */
+    public void incrementVersion(Class<?> entityClass) {
+        String key = entityClass.getName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        increment(key);
+                    }
+                }
+            );
+        } else {
+            increment(key);
+        }
+    }
+
+    /**
+     * Mark the current transaction as reading data which its caller tags with the current version of the entity type,
+     * e.g. in an entity tag or a cached response: such data must be read from the primary database.
+     */
+    public static void markVersionedRead() {
+        if (
+            !TransactionSynchronizationManager.isSynchronizationActive() ||
+            TransactionSynchronizationManager.hasResource(VERSIONED_READ_RESOURCE)
+        ) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(VERSIONED_READ_RESOURCE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VERSIONED_READ_RESOURCE);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return whether the current transaction was marked with {@link #markVersionedRead()}.
+     */
+    public static boolean isVersionedRead() {
+        return TransactionSynchronizationManager.hasResource(VERSIONED_READ_RESOURCE);
+    }
+
+    private void increment(String key) {
+        long version = versions.executeOnKey(key, new IncrementProcessor());
+        log.debug("Version of {} changed to {}", key, version);
+    }
+
+    private static final class IncrementProcessor implements EntryProcessor<String, Long, Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Long process(Map.Entry<String, Long> entry) {
+            Long version = entry.getValue();
+            Long next = version == null ? System.currentTimeMillis() : version + 1;
+            entry.setValue(next);
+            return next;
+        }
+    }
+}
@@ -7,11 +7,13 @@ import com.mycompany.myapp.service.criteria.NewsCriteria;
 import com.mycompany.myapp.service.dto.NewsDTO;
 import com.mycompany.myapp.service.mapper.NewsMapper;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,10 +49,38 @@ public class NewsQueryService extends QueryService<News> {
     @Transactional(readOnly = true)
     public Page<NewsDTO> findByCriteria(NewsCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        EntityVersionService.markVersionedRead();
         final Specification<News> specification = createSpecification(criteria);
         return newsRepository.findAll(specification, page).map(newsMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link NewsDTO} which matches the criteria from the database, starting after the given id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} to start with the first entity.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Slice<NewsDTO> findByCriteriaAfter(NewsCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, after, size);
+        EntityVersionService.markVersionedRead();
+        final Specification<News> specification = createSpecification(criteria);
+        return newsRepository.findAllAfter(specification, after, size).map(newsMapper::toDto);
+    }
+
+    /**
+     * Pass each {@link NewsDTO} which matches the criteria to the given action, reading the database through a cursor.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param action The action to perform on each matching entity, in id order.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(NewsCriteria criteria, Consumer<NewsDTO> action) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<News> specification = createSpecification(criteria);
+        newsRepository.scrollAll(specification, news -> action.accept(newsMapper.toDto(news)));
+    }
+
     /**
      * Function to convert {@link NewsCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -2,8 +2,11 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.News;
 import com.mycompany.myapp.repository.NewsRepository;
+import com.mycompany.myapp.service.cache.SerializedResponseCache;
+import com.mycompany.myapp.service.cache.SingleFlight;
 import com.mycompany.myapp.service.dto.NewsDTO;
 import com.mycompany.myapp.service.mapper.NewsMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +28,24 @@ public class NewsService {
 
     private final NewsMapper newsMapper;
 
-    public NewsService(NewsRepository newsRepository, NewsMapper newsMapper) {
+    private final EntityVersionService entityVersionService;
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    private final SingleFlight<Long, Optional<NewsDTO>> findOneFlight;
+
+    public NewsService(
+        NewsRepository newsRepository,
+        NewsMapper newsMapper,
+        EntityVersionService entityVersionService,
+        SerializedResponseCache serializedResponseCache,
+        MeterRegistry meterRegistry
+    ) {
         this.newsRepository = newsRepository;
         this.newsMapper = newsMapper;
+        this.entityVersionService = entityVersionService;
+        this.serializedResponseCache = serializedResponseCache;
+        this.findOneFlight = new SingleFlight<>("news.find-one", meterRegistry);
     }
 
     /**
@@ -40,6 +58,8 @@ public class NewsService {
         log.debug("Request to save News : {}", newsDTO);
         News news = newsMapper.toEntity(newsDTO);
         news = newsRepository.save(news);
+        entityVersionService.incrementVersion(News.class);
+        serializedResponseCache.evictAllAfterCommit(News.class);
         return newsMapper.toDto(news);
     }
 
@@ -53,6 +73,8 @@ public class NewsService {
         log.debug("Request to save News : {}", newsDTO);
         News news = newsMapper.toEntity(newsDTO);
         news = newsRepository.save(news);
+        entityVersionService.incrementVersion(News.class);
+        serializedResponseCache.evictAllAfterCommit(News.class);
         return newsMapper.toDto(news);
     }
 
@@ -70,6 +92,8 @@ public class NewsService {
 
     /**
      * Get one news by id.
+     * <p>
+     * Concurrent requests for the same news, at the same news version, share a single load.
      *
      * @param id the id of the entity.
      * @return the entity.
@@ -77,7 +101,9 @@ public class NewsService {
     @Transactional(readOnly = true)
     public Optional<NewsDTO> findOne(Long id) {
         log.debug("Request to get News : {}", id);
-        return newsRepository.findById(id).map(newsMapper::toDto);
+        EntityVersionService.markVersionedRead();
+        long version = entityVersionService.getVersion(News.class);
+        return findOneFlight.load(id, version, () -> newsRepository.findById(id).map(newsMapper::toDto));
     }
 
     /**
@@ -88,5 +114,7 @@ public class NewsService {
     public void delete(Long id) {
         log.debug("Request to delete News : {}", id);
         newsRepository.deleteById(id);
+        entityVersionService.incrementVersion(News.class);
+        serializedResponseCache.evictAllAfterCommit(News.class);
     }
 }
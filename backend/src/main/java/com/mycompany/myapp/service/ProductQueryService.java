@@ -4,14 +4,29 @@ import com.mycompany.myapp.domain.*; // for static metamodels
 import com.mycompany.myapp.domain.Product;
 import com.mycompany.myapp.repository.ProductRepository;
 import com.mycompany.myapp.service.criteria.ProductCriteria;
+import com.mycompany.myapp.service.cache.SingleFlight;
+import com.mycompany.myapp.service.dto.PriceBucketDTO;
 import com.mycompany.myapp.service.dto.ProductDTO;
 import com.mycompany.myapp.service.mapper.ProductMapper;
+import com.mycompany.myapp.service.search.ProductTitleIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Consumer;
 import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,19 +42,37 @@ import tech.jhipster.service.QueryService;
 @Transactional(readOnly = true)
 public class ProductQueryService extends QueryService<Product> {
 
+    private static final int PRICE_SCALE = 2;
+
     private final Logger log = LoggerFactory.getLogger(ProductQueryService.class);
 
     private final ProductRepository productRepository;
 
     private final ProductMapper productMapper;
 
-    public ProductQueryService(ProductRepository productRepository, ProductMapper productMapper) {
+    private final ProductTitleIndex productTitleIndex;
+
+    private final EntityVersionService entityVersionService;
+
+    private final SingleFlight<List<Object>, Page<ProductDTO>> findByCriteriaFlight;
+
+    public ProductQueryService(
+        ProductRepository productRepository,
+        ProductMapper productMapper,
+        ProductTitleIndex productTitleIndex,
+        EntityVersionService entityVersionService,
+        MeterRegistry meterRegistry
+    ) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productTitleIndex = productTitleIndex;
+        this.entityVersionService = entityVersionService;
+        this.findByCriteriaFlight = new SingleFlight<>("product.find-by-criteria", meterRegistry);
     }
 
     /**
      * Return a {@link Page} of {@link ProductDTO} which matches the criteria from the database.
+     * Concurrent requests for the same criteria and page, at the same product version, share a single load.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -47,8 +80,126 @@ public class ProductQueryService extends QueryService<Product> {
     @Transactional(readOnly = true)
     public Page<ProductDTO> findByCriteria(ProductCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Product> specification = createSpecification(criteria);
-        return productRepository.findAll(specification, page).map(productMapper::toDto);
+        EntityVersionService.markVersionedRead();
+        return findByCriteriaFlight.load(
+            Arrays.asList(criteria, page),
+            entityVersionService.getVersion(Product.class),
+            () -> {
+                Optional<Specification<Product>> specification = createIndexedSpecification(criteria);
+                if (specification.isEmpty()) {
+                    return Page.empty(page);
+                }
+                return productRepository.findAll(specification.get(), page).map(productMapper::toDto);
+            }
+        );
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ProductDTO} which matches the criteria from the database, starting after the given id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} to start with the first entity.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductDTO> findByCriteriaAfter(ProductCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, after, size);
+        EntityVersionService.markVersionedRead();
+        Optional<Specification<Product>> specification = createIndexedSpecification(criteria);
+        if (specification.isEmpty()) {
+            return new SliceImpl<>(List.of());
+        }
+        return productRepository.findAllAfter(specification.get(), after, size).map(productMapper::toDto);
+    }
+
+    /**
+     * Pass each {@link ProductDTO} which matches the criteria to the given action, reading the database through a cursor.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param action The action to perform on each matching entity, in id order.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(ProductCriteria criteria, Consumer<ProductDTO> action) {
+        log.debug("export by criteria : {}", criteria);
+        createIndexedSpecification(criteria)
+            .ifPresent(specification -> productRepository.scrollAll(specification, product -> action.accept(productMapper.toDto(product))));
+    }
+
+    /**
+     * Return the number of products which match the criteria in ranges of equal width, from the lowest to the highest
+     * matching price. The lowest and highest prices are read first, then the products are counted by range in the
+     * database, which returns one row per range, without loading any product.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param buckets The maximum number of price ranges.
+     * @return the price ranges, in increasing order, or an empty list if no product matches.
+     */
+    @Transactional(readOnly = true)
+    public List<PriceBucketDTO> findPriceBuckets(ProductCriteria criteria, int buckets) {
+        log.debug("find price buckets by criteria : {}, buckets: {}", criteria, buckets);
+        EntityVersionService.markVersionedRead();
+        Optional<Specification<Product>> specification = createIndexedSpecification(criteria);
+        Optional<Range<BigDecimal>> priceRange = specification.flatMap(spec -> productRepository.findRange(spec, Product_.price));
+        if (priceRange.isEmpty()) {
+            return List.of();
+        }
+        BigDecimal min = priceRange.get().getLowerBound().getValue().orElseThrow();
+        BigDecimal max = priceRange.get().getUpperBound().getValue().orElseThrow();
+        // Ranges are a whole number of cents wide, so that their bounds are prices
+        BigDecimal width = max.subtract(min).divide(BigDecimal.valueOf(buckets), PRICE_SCALE, RoundingMode.CEILING);
+        int size = width.signum() == 0 ? 1 : Math.min(buckets, max.subtract(min).divide(width, 0, RoundingMode.FLOOR).intValue() + 1);
+
+        List<PriceBucketDTO> priceBuckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BigDecimal from = min.add(width.multiply(BigDecimal.valueOf(i)));
+            priceBuckets.add(new PriceBucketDTO(from, i == size - 1 ? max : from.add(width)));
+        }
+        // When all the prices are equal, any width puts them in the first range
+        SortedMap<Integer, Long> counts = productRepository.countByInterval(
+            specification.get(),
+            Product_.price,
+            min,
+            width.signum() == 0 ? BigDecimal.ONE : width
+        );
+        counts.forEach((index, count) -> {
+            // The highest price starts a range of its own when it is a whole number of ranges above the lowest one
+            PriceBucketDTO priceBucket = priceBuckets.get(Math.max(0, Math.min(size - 1, index)));
+            priceBucket.setCount(priceBucket.getCount() + count);
+        });
+        return priceBuckets;
+    }
+
+    /**
+     * Convert {@link ProductCriteria} to a {@link Specification}, restricted to the products found in the
+     * {@link ProductTitleIndex} when the {@code title.contains} filter can be looked up there.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification}, or an empty {@link Optional} if the index proves that nothing matches.
+     */
+    Optional<Specification<Product>> createIndexedSpecification(ProductCriteria criteria) {
+        Specification<Product> specification = createSpecification(criteria);
+        Optional<Set<Long>> titleMatches = findTitleMatches(criteria);
+        if (titleMatches.isPresent()) {
+            if (titleMatches.get().isEmpty()) {
+                return Optional.empty();
+            }
+            // The "contains" filter is still applied, but only to the rows found in the index
+            specification = specification.and(idIn(titleMatches.get()));
+        }
+        return Optional.of(specification);
+    }
+
+    /**
+     * Look up the {@code title.contains} filter in the {@link ProductTitleIndex}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the ids of the matching products, or an empty {@link Optional} if the filter must be run by the database.
+     */
+    private Optional<Set<Long>> findTitleMatches(ProductCriteria criteria) {
+        if (criteria == null || criteria.getTitle() == null || criteria.getTitle().getContains() == null) {
+            return Optional.empty();
+        }
+        return productTitleIndex.findIdsByTitleContaining(criteria.getTitle().getContains());
+    }
+
+    private Specification<Product> idIn(Set<Long> ids) {
+        return (root, query, builder) -> root.get(Product_.id).in(ids);
     }
 
     /**
@@ -2,11 +2,19 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Product;
 import com.mycompany.myapp.repository.ProductRepository;
+import com.mycompany.myapp.service.cache.SerializedResponseCache;
+import com.mycompany.myapp.service.cache.SingleFlight;
 import com.mycompany.myapp.service.dto.ProductDTO;
 import com.mycompany.myapp.service.mapper.ProductMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,9 +33,32 @@ public class ProductService {
 
     private final ProductMapper productMapper;
 
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    private final EntityVersionService entityVersionService;
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    private final SingleFlight<Long, Optional<ProductDTO>> findOneFlight;
+
+    private final EntityManager entityManager;
+
+    private final int batchSize;
+
+    public ProductService(
+        ProductRepository productRepository,
+        ProductMapper productMapper,
+        EntityVersionService entityVersionService,
+        SerializedResponseCache serializedResponseCache,
+        MeterRegistry meterRegistry,
+        EntityManager entityManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.entityVersionService = entityVersionService;
+        this.serializedResponseCache = serializedResponseCache;
+        this.findOneFlight = new SingleFlight<>("product.find-one", meterRegistry);
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
     }
 
     /**
@@ -40,9 +71,42 @@ public class ProductService {
         log.debug("Request to save Product : {}", productDTO);
         Product product = productMapper.toEntity(productDTO);
         product = productRepository.save(product);
+        entityVersionService.incrementVersion(Product.class);
         return productMapper.toDto(product);
     }
 
+    /**
+     * Save products in bulk, in a single transaction.
+     * <p>
+     * The products are inserted in JDBC batches of {@code hibernate.jdbc.batch_size}, after which the persistence
+     * context is cleared, so that it does not grow with the number of products. They are not put in the second-level
+     * cache, as most of them will never be read soon.
+     *
+     * @param productDTOs the entities to save.
+     * @return the number of persisted entities.
+     */
+    public int saveAll(List<ProductDTO> productDTOs) {
+        log.debug("Request to save {} Products", productDTOs.size());
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            for (int i = 0; i < productDTOs.size(); i++) {
+                entityManager.persist(productMapper.toEntity(productDTOs.get(i)));
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+        entityVersionService.incrementVersion(Product.class);
+        return productDTOs.size();
+    }
+
     /**
      * Update a product.
      *
@@ -53,6 +117,8 @@ public class ProductService {
         log.debug("Request to save Product : {}", productDTO);
         Product product = productMapper.toEntity(productDTO);
         product = productRepository.save(product);
+        entityVersionService.incrementVersion(Product.class);
+        serializedResponseCache.evictAfterCommit(Product.class, product.getId().toString());
         return productMapper.toDto(product);
     }
 
@@ -70,6 +136,8 @@ public class ProductService {
 
     /**
      * Get one product by id.
+     * <p>
+     * Concurrent requests for the same product, at the same product version, share a single load.
      *
      * @param id the id of the entity.
      * @return the entity.
@@ -77,7 +145,9 @@ public class ProductService {
     @Transactional(readOnly = true)
     public Optional<ProductDTO> findOne(Long id) {
         log.debug("Request to get Product : {}", id);
-        return productRepository.findById(id).map(productMapper::toDto);
+        EntityVersionService.markVersionedRead();
+        long version = entityVersionService.getVersion(Product.class);
+        return findOneFlight.load(id, version, () -> productRepository.findById(id).map(productMapper::toDto));
     }
 
     /**
@@ -88,5 +158,7 @@ public class ProductService {
     public void delete(Long id) {
         log.debug("Request to delete Product : {}", id);
         productRepository.deleteById(id);
+        entityVersionService.incrementVersion(Product.class);
+        serializedResponseCache.evictAfterCommit(Product.class, id.toString());
     }
 }
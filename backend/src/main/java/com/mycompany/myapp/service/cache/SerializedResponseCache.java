@@ -0,0 +1,177 @@
+package com.mycompany.myapp.service.cache;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Local, size-bounded cache of serialized response bodies, so that hot reads skip the mapping and the JSON
+ * serialization of their entities.
+ * <p>
+ * Bodies are kept as byte arrays, which are written to the response as they are, and the least recently used ones
+ * are evicted first.
+ * Each entry is tagged with the {@link com.mycompany.myapp.service.EntityVersionService} version it was built at,
+ * and is only returned for that version: writes on other cluster members thus invalidate it as well, while local
+ * writes evict it once they are committed.
+ */
+@Service
+public class SerializedResponseCache {
+
+    private final Logger log = LoggerFactory.getLogger(SerializedResponseCache.class);
+
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ApplicationProperties.Cache.ResponseCache properties;
+
+    private long size;
+
+    public SerializedResponseCache(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getCache().getResponseCache();
+    }
+
+    /**
+     * Get a cached response.
+     *
+     * @param entityClass the type of the entities in the response.
+     * @param key the normalized request, within the entity type.
+     * @param version the current version of the entity type.
+     * @return the response, or an empty {@link Optional} if it is not cached for this version.
+     */
+    public synchronized Optional<CachedResponse> get(Class<?> entityClass, String key, long version) {
+        CachedResponse response = entries.get(toKey(entityClass, key));
+        if (response == null || response.version != version) {
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    /**
+     * Cache a response.
+     *
+     * @param entityClass the type of the entities in the response.
+     * @param key the normalized request, within the entity type.
+     * @param version the version of the entity type the response was built at.
+     * @param headers the headers to send with the body, besides the content type.
+     * @param body the serialized body, which must not be modified afterwards.
+     */
+    public void put(Class<?> entityClass, String key, long version, Map<String, List<String>> headers, byte[] body) {
+        if (!properties.isEnabled() || body.length > properties.getMaxEntryBytes()) {
+            return;
+        }
+        CachedResponse response = new CachedResponse(version, headers, body);
+        synchronized (this) {
+            remove(entries.put(toKey(entityClass, key), response));
+            size += body.length;
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (size > properties.getMaxBytes() && eldest.hasNext()) {
+                size -= eldest.next().body.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Evict a response once the current transaction commits, or immediately without transaction.
+     *
+     * @param entityClass the type of the entities in the response.
+     * @param key the normalized request, within the entity type.
+     */
+    public void evictAfterCommit(Class<?> entityClass, String key) {
+        afterCommit(() -> evict(toKey(entityClass, key)));
+    }
+
+    /**
+     * Evict all the responses of an entity type once the current transaction commits, or immediately without transaction.
+     *
+     * @param entityClass the type of the entities in the responses.
+     */
+    public void evictAllAfterCommit(Class<?> entityClass) {
+        String prefix = toKey(entityClass, "");
+        afterCommit(() -> {
+            synchronized (this) {
+                Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, CachedResponse> entry = iterator.next();
+                    if (entry.getKey().startsWith(prefix)) {
+                        size -= entry.getValue().body.length;
+                        iterator.remove();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the size of all the cached response bodies, in bytes.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    private static String toKey(Class<?> entityClass, String key) {
+        return entityClass.getName() + ':' + key;
+    }
+
+    private synchronized void evict(String key) {
+        log.debug("Evicting cached response {}", key);
+        remove(entries.remove(key));
+    }
+
+    private void remove(CachedResponse response) {
+        if (response != null) {
+            size -= response.body.length;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A serialized response body, with its headers.
+     */
+    public static final class CachedResponse {
+
+        private final long version;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        private CachedResponse(long version, Map<String, List<String>> headers, byte[] body) {
+            this.version = version;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * @return the body, shared by all the hits, so it must not be modified.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
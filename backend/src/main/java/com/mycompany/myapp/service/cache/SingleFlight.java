@@ -0,0 +1,151 @@
+package com.mycompany.myapp.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces concurrent identical loads: while a value is being loaded for a key, the other callers asking for the
+ * same key wait for that load and share its result, or its exception, instead of loading it again.
+ * <p>
+ * Loads are only shared between read-only transactions, so that a caller never gets a value read by a transaction
+ * with uncommitted changes, nor misses its own changes.
+ * <p>
+ * Loads of versioned values, such as those tagged with an {@link com.mycompany.myapp.service.EntityVersionService}
+ * version, are only shared between callers which read the same version before loading: a caller which has seen the
+ * version of a write never joins a load started before that write, which could return the value prior to it.
+ *
+ * @param <K> the type of the keys, which must implement {@code equals} and {@code hashCode}.
+ * @param <V> the type of the loaded values, which are shared between threads and must not be modified.
+ */
+public class SingleFlight<K, V> {
+
+    public static final String LOADS_METER_NAME = "service.single-flight.loads";
+    public static final String LOADS_METER_DESCRIPTION = "Indicates loads run on behalf of all the concurrent callers of a key.";
+    public static final String COALESCED_METER_NAME = "service.single-flight.coalesced";
+    public static final String COALESCED_METER_DESCRIPTION = "Indicates callers which waited for the load of another caller.";
+    public static final String WAITERS_METER_NAME = "service.single-flight.waiters";
+    public static final String WAITERS_METER_DESCRIPTION = "Indicates callers currently waiting for the load of another caller.";
+    public static final String NAME_DIMENSION = "name";
+
+    private final ConcurrentMap<FlightKey<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final Counter loadsCounter;
+
+    private final Counter coalescedCounter;
+
+    /**
+     * @param name the name of the load, used to tag its meters.
+     * @param registry the registry of the meters.
+     */
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.loadsCounter =
+            Counter.builder(LOADS_METER_NAME).description(LOADS_METER_DESCRIPTION).tag(NAME_DIMENSION, name).register(registry);
+        this.coalescedCounter =
+            Counter.builder(COALESCED_METER_NAME).description(COALESCED_METER_DESCRIPTION).tag(NAME_DIMENSION, name).register(registry);
+        Gauge
+            .builder(WAITERS_METER_NAME, waiters, AtomicInteger::get)
+            .description(WAITERS_METER_DESCRIPTION)
+            .tag(NAME_DIMENSION, name)
+            .register(registry);
+    }
+
+    /**
+     * Load the value of a key, or wait for the load already in flight for that key.
+     *
+     * @param key the key of the value.
+     * @param loader the function loading the value, called by the first caller only.
+     * @return the loaded value.
+     */
+    public V load(K key, Supplier<V> loader) {
+        return load(key, 0L, loader);
+    }
+
+    /**
+     * Load the version of the value of a key, or wait for the load already in flight for that key and version.
+     *
+     * @param key the key of the value.
+     * @param version the version of the value, read before calling this method.
+     * @param loader the function loading the value, called by the first caller only.
+     * @return the loaded value.
+     */
+    public V load(K key, long version, Supplier<V> loader) {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+        FlightKey<K> flightKey = new FlightKey<>(key, version);
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        loadsCounter.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        coalescedCounter.increment();
+        waiters.incrementAndGet();
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private static final class FlightKey<K> {
+
+        private final K key;
+
+        private final long version;
+
+        FlightKey(K key, long version) {
+            this.key = key;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FlightKey)) {
+                return false;
+            }
+            FlightKey<?> other = (FlightKey<?>) o;
+            return version == other.version && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, version);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.validation.Valid;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link CartOperationDTO} operations applied at once to the cart of the current user, in order.
+ */
+public class CartBatchDTO implements Serializable {
+
+    public static final int MAX_OPERATIONS = 100;
+
+    /**
+     * Optional id of the batch, generated by the client, so that retrying the batch does not apply it twice.
+     */
+    private UUID batchId;
+
+    @NotEmpty
+    @Size(max = MAX_OPERATIONS)
+    private List<@Valid @NotNull CartOperationDTO> operations = new ArrayList<>();
+
+    public UUID getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+    }
+
+    public List<CartOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<CartOperationDTO> operations) {
+        this.operations = operations;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartBatchDTO{" +
+            "batchId=" + getBatchId() +
+            ", operations=" + getOperations() +
+            "}";
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for the cart of the current user: its {@link CartItemDTO} lines and their total price.
+ */
+public class CartDTO implements Serializable {
+
+    private List<CartItemDTO> items = new ArrayList<>();
+
+    private BigDecimal total = BigDecimal.ZERO;
+
+    public List<CartItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CartItemDTO> items) {
+        this.items = items;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartDTO{" +
+            "items=" + getItems() +
+            ", total=" + getTotal() +
+            "}";
+    }
+}
@@ -11,6 +11,9 @@ public class CartItemDTO implements Serializable {
 
     private Long id;
 
+    @Min(value = 1)
+    private Integer quantity;
+
     private ProductDTO product;
 
     public Long getId() {
@@ -21,6 +24,14 @@ public class CartItemDTO implements Serializable {
         this.id = id;
     }
 
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
     public ProductDTO getProduct() {
         return product;
     }
@@ -55,6 +66,7 @@ public class CartItemDTO implements Serializable {
     public String toString() {
         return "CartItemDTO{" +
             "id=" + getId() +
+            ", quantity=" + getQuantity() +
             ", product=" + getProduct() +
             "}";
     }
@@ -0,0 +1,75 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for an operation on the line of a {@link com.mycompany.myapp.domain.Product} in the cart of the current user.
+ * Lines are identified by their product, so that clients can queue operations on lines they have not created yet.
+ */
+public class CartOperationDTO implements Serializable {
+
+    /**
+     * The largest quantity of an operation, and of a line once a batch added to it.
+     */
+    public static final int MAX_QUANTITY = 10000;
+
+    public enum Type {
+        /**
+         * Add {@code quantity} (1 by default) of the product, to its line if the cart already has one.
+         */
+        ADD,
+        /**
+         * Remove the line of the product, if any.
+         */
+        REMOVE,
+        /**
+         * Set the quantity of the product, creating its line if needed, or removing it if {@code quantity} is 0.
+         */
+        SET_QUANTITY
+    }
+
+    @NotNull
+    private Type type;
+
+    @NotNull
+    private Long productId;
+
+    @Min(value = 0)
+    @Max(value = MAX_QUANTITY)
+    private Integer quantity;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartOperationDTO{" +
+            "type=" + getType() +
+            ", productId=" + getProductId() +
+            ", quantity=" + getQuantity() +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A DTO for the number of {@link com.mycompany.myapp.domain.Product} entities in a price range, from {@code from}
+ * inclusive to {@code to} exclusive, except in the last range which includes its upper bound.
+ */
+public class PriceBucketDTO implements Serializable {
+
+    private BigDecimal from;
+
+    private BigDecimal to;
+
+    private long count;
+
+    public PriceBucketDTO() {}
+
+    public PriceBucketDTO(BigDecimal from, BigDecimal to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public BigDecimal getFrom() {
+        return from;
+    }
+
+    public void setFrom(BigDecimal from) {
+        this.from = from;
+    }
+
+    public BigDecimal getTo() {
+        return to;
+    }
+
+    public void setTo(BigDecimal to) {
+        this.to = to;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PriceBucketDTO{" +
+            "from=" + getFrom() +
+            ", to=" + getTo() +
+            ", count=" + getCount() +
+            "}";
+    }
+}
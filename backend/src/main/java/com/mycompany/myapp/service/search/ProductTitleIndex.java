@@ -0,0 +1,299 @@
+package com.mycompany.myapp.service.search;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Product;
+import com.mycompany.myapp.repository.ProductRepository;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-memory index over {@link Product#getTitle()}: a trigram index used to answer {@code title.contains} filters
+ * without scanning the {@code product} table, and a {@link TitleTrie} used for title suggestions.
+ * <p>
+ * The index is loaded from the database on first use, then kept up to date from Hibernate's insert, update and
+ * delete events. Committed changes are broadcast to the other cluster members through a Hazelcast topic.
+ * Changes received while the index is loading are buffered, and applied after the loaded titles, which may be older.
+ * <p>
+ * Uncommitted titles are visible to the trigram index, so that a transaction finds the products it wrote: the index
+ * may therefore contain ids which do not match for other transactions, and callers must keep verifying the filter
+ * in the database. Suggestions only ever contain committed titles: the trie is rebuilt in the background, shortly
+ * after committed changes, and swapped in once built. It is rebuilt from all the titles rather than updated, as its
+ * packed arrays cannot grow in place, but the changes committed in the meantime only cost one rebuild.
+ */
+@Service
+public class ProductTitleIndex {
+
+    public static final String TOPIC_NAME = "product-title-index";
+
+    /**
+     * Maximum number of titles returned by {@link #suggest(String, int)}.
+     */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final Logger log = LoggerFactory.getLogger(ProductTitleIndex.class);
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    private final Map<Long, String> committedTitles = new ConcurrentHashMap<>();
+
+    private volatile TitleTrie trie = TitleTrie.EMPTY;
+
+    private final AtomicBoolean trieRebuildScheduled = new AtomicBoolean();
+
+    private final ProductRepository productRepository;
+
+    private final ITopic<TitleChange> topic;
+
+    private final TaskScheduler taskScheduler;
+
+    private final ApplicationProperties.Search.TitleIndex properties;
+
+    private volatile boolean loaded;
+
+    private final Object changesLock = new Object();
+
+    /**
+     * The changes received while loading, or {@code null} when not loading. Guarded by {@link #changesLock}.
+     */
+    private List<Runnable> changesDuringLoad;
+
+    public ProductTitleIndex(
+        ProductRepository productRepository,
+        HazelcastInstance hazelcastInstance,
+        TaskScheduler taskScheduler,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productRepository = productRepository;
+        this.taskScheduler = taskScheduler;
+        this.properties = applicationProperties.getSearch().getTitleIndex();
+        this.topic = hazelcastInstance.getTopic(TOPIC_NAME);
+        this.topic.addMessageListener(this::onMessage);
+    }
+
+    /**
+     * Find the ids of the products whose title contains the given fragment, ignoring case.
+     *
+     * @param fragment the fragment to look for.
+     * @return the matching ids, or an empty {@link Optional} if the database should run the filter itself.
+     */
+    public Optional<Set<Long>> findIdsByTitleContaining(String fragment) {
+        if (!properties.isEnabled() || !StringUtils.hasText(fragment) || isLikePattern(fragment)) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+        Set<Long> ids = index.findContaining(fragment);
+        if (ids.size() > properties.getMaxCandidates()) {
+            log.debug("Too many products match title '{}' ({}), falling back to the database", fragment, ids.size());
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+
+    /**
+     * Suggest committed product titles starting with the given prefix, ignoring case.
+     * <p>
+     * The trie is immutable: changes show up once the background rebuild following them has completed.
+     *
+     * @param prefix the prefix to look for.
+     * @param limit the maximum number of titles to return, at most {@link #MAX_SUGGESTIONS}.
+     * @return the distinct matching titles, the shortest first, then in alphabetical order.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        ensureLoaded();
+        return trie.suggest(prefix, limit);
+    }
+
+    /**
+     * Index a product title which is not committed yet, so it is visible to the current transaction. It is not
+     * suggested until committed.
+     *
+     * @param id the id of the product.
+     * @param title the title of the product.
+     */
+    public void indexUncommitted(Long id, String title) {
+        apply(() -> putUncommitted(id, title));
+    }
+
+    /**
+     * Discard a product title indexed by {@link #indexUncommitted(Long, String)} whose transaction failed.
+     *
+     * @param id the id of the product.
+     */
+    public void discardUncommitted(Long id) {
+        apply(() -> restoreCommitted(id));
+    }
+
+    /**
+     * Index a committed product title, on this node and on the other cluster members.
+     *
+     * @param id the id of the product.
+     * @param title the title of the product.
+     */
+    public void titleCommitted(Long id, String title) {
+        apply(() -> commitChange(id, title));
+        topic.publish(new TitleChange(id, title));
+    }
+
+    /**
+     * Remove a deleted product once the deletion is committed, on this node and on the other cluster members.
+     *
+     * @param id the id of the product.
+     */
+    public void deletionCommitted(Long id) {
+        apply(() -> commitChange(id, null));
+        topic.publish(new TitleChange(id, null));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                log.debug("Loading product title index");
+                synchronized (changesLock) {
+                    changesDuringLoad = new ArrayList<>();
+                }
+                try {
+                    productRepository.findAllTitles().forEach(product -> commit(product.getId(), product.getTitle()));
+                } finally {
+                    // Applied even if loading failed, so that they are not lost when loading again
+                    synchronized (changesLock) {
+                        changesDuringLoad.forEach(Runnable::run);
+                        changesDuringLoad = null;
+                    }
+                }
+                loaded = true;
+                trie = TitleTrie.build(committedTitles.values(), MAX_SUGGESTIONS);
+                log.debug("Product title index loaded with {} products", index.size());
+            }
+        }
+    }
+
+    private void onMessage(Message<TitleChange> message) {
+        Member publisher = message.getPublishingMember();
+        if (publisher != null && publisher.localMember()) {
+            return;
+        }
+        TitleChange change = message.getMessageObject();
+        apply(() -> commitChange(change.getId(), change.getTitle()));
+    }
+
+    private void apply(Runnable change) {
+        synchronized (changesLock) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            } else {
+                change.run();
+            }
+        }
+    }
+
+    private void putUncommitted(Long id, String title) {
+        if (id != null && title != null) {
+            index.put(id, title);
+        }
+    }
+
+    private void restoreCommitted(Long id) {
+        if (id == null) {
+            return;
+        }
+        String title = committedTitles.get(id);
+        if (title == null) {
+            index.remove(id);
+        } else {
+            index.put(id, title);
+        }
+    }
+
+    private void commitChange(Long id, String title) {
+        if (commit(id, title)) {
+            scheduleTrieRebuild();
+        }
+    }
+
+    /**
+     * Index a committed title, or remove a deleted product if the title is {@code null}.
+     *
+     * @return whether the committed titles changed.
+     */
+    private boolean commit(Long id, String title) {
+        if (id == null) {
+            return false;
+        }
+        String previous;
+        if (title == null) {
+            index.remove(id);
+            previous = committedTitles.remove(id);
+        } else {
+            index.put(id, title);
+            previous = committedTitles.put(id, title);
+        }
+        return !Objects.equals(title, previous);
+    }
+
+    private void scheduleTrieRebuild() {
+        if (trieRebuildScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::rebuildTrie, Instant.now().plus(properties.getSuggestionRebuildDelay()));
+        }
+    }
+
+    /**
+     * Rebuild the trie from the committed titles; synchronized with {@link #ensureLoaded()}, which builds the first one.
+     */
+    private synchronized void rebuildTrie() {
+        // Cleared first, so that a change made while building schedules another rebuild
+        trieRebuildScheduled.set(false);
+        if (loaded) {
+            trie = TitleTrie.build(committedTitles.values(), MAX_SUGGESTIONS);
+            log.debug("Product title trie rebuilt with {} titles", trie.size());
+        }
+    }
+
+    private static boolean isLikePattern(String fragment) {
+        return fragment.indexOf('%') >= 0 || fragment.indexOf('_') >= 0;
+    }
+
+    /**
+     * A committed title change, broadcast to the cluster. A {@code null} title means the product was deleted.
+     */
+    public static class TitleChange implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Long id;
+
+        private final String title;
+
+        public TitleChange(Long id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.myapp.service.search;
+
+import com.mycompany.myapp.domain.Product;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Applies committed {@link Product} changes to the {@link ProductTitleIndex}.
+ */
+public class ProductTitleIndexCommitListener
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ProductTitleIndex productTitleIndex;
+
+    public ProductTitleIndexCommitListener(ProductTitleIndex productTitleIndex) {
+        this.productTitleIndex = productTitleIndex;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product) {
+            Product product = (Product) event.getEntity();
+            productTitleIndex.titleCommitted(product.getId(), product.getTitle());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product) {
+            productTitleIndex.discardUncommitted(((Product) event.getEntity()).getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Product) {
+            Product product = (Product) event.getEntity();
+            productTitleIndex.titleCommitted(product.getId(), product.getTitle());
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was indexed before the commit
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Product) {
+            productTitleIndex.deletionCommitted((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was removed before the commit
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return Product.class.equals(persister.getMappedClass());
+    }
+}
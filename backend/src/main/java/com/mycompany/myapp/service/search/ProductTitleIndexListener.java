@@ -0,0 +1,33 @@
+package com.mycompany.myapp.service.search;
+
+import com.mycompany.myapp.domain.Product;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Indexes new {@link Product} titles as soon as they are flushed, so they can be found by the same transaction.
+ */
+public class ProductTitleIndexListener implements PostInsertEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ProductTitleIndex productTitleIndex;
+
+    public ProductTitleIndexListener(ProductTitleIndex productTitleIndex) {
+        this.productTitleIndex = productTitleIndex;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product) {
+            Product product = (Product) event.getEntity();
+            productTitleIndex.indexUncommitted(product.getId(), product.getTitle());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,226 @@
+package com.mycompany.myapp.service.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie over titles, packed into flat arrays.
+ * <p>
+ * The titles are sorted (ignoring case) and de-duplicated. The children of a node are stored contiguously and
+ * sorted by label. Products carry no popularity, so suggestions are ranked by closeness to the prefix: the shortest
+ * titles first, then alphabetically. Every node stores its top-ranked titles, up to the maximum number of suggestions,
+ * so a lookup walks at most one node per prefix character and then copies them.
+ * <p>
+ * Being packed, the trie cannot be updated in place: changes are applied by building a new trie from all the titles.
+ */
+public final class TitleTrie {
+
+    public static final TitleTrie EMPTY = build(Collections.emptyList(), 0);
+
+    private final int maxSuggestions;
+
+    private final String[] titles;
+
+    private final char[] labels;
+
+    private final int[] firstChild;
+
+    private final int[] childCount;
+
+    private final int[] rangeStart;
+
+    private final int[] rangeEnd;
+
+    /**
+     * Start of the top-ranked titles of each node in {@link #top}, which holds as many of them as the node has titles,
+     * up to {@link #maxSuggestions}.
+     */
+    private final int[] topStart;
+
+    private final int[] top;
+
+    private TitleTrie(
+        int maxSuggestions,
+        String[] titles,
+        char[] labels,
+        int[] firstChild,
+        int[] childCount,
+        int[] rangeStart,
+        int[] rangeEnd,
+        int[] topStart,
+        int[] top
+    ) {
+        this.maxSuggestions = maxSuggestions;
+        this.titles = titles;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    /**
+     * Build a trie from the given titles.
+     *
+     * @param titles the titles to index, in any order, possibly with duplicates.
+     * @param maxSuggestions the maximum number of titles a lookup can return.
+     * @return the trie.
+     */
+    public static TitleTrie build(Collection<String> titles, int maxSuggestions) {
+        Map<String, String> sorted = new TreeMap<>();
+        for (String title : titles) {
+            if (title != null) {
+                sorted.putIfAbsent(normalize(title), title);
+            }
+        }
+        String[] keys = sorted.keySet().toArray(new String[0]);
+        String[] values = sorted.values().toArray(new String[0]);
+
+        int capacity = 1;
+        for (String key : keys) {
+            capacity += key.length();
+        }
+        char[] labels = new char[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        int[] rangeStart = new int[capacity];
+        int[] rangeEnd = new int[capacity];
+
+        // Breadth-first, so that the children of each node are allocated contiguously
+        rangeStart[0] = 0;
+        rangeEnd[0] = keys.length;
+        int size = 1;
+        Deque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[] { 0, 0 });
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int node = entry[0];
+            int depth = entry[1];
+            int i = rangeStart[node];
+            // Keys equal to the prefix of this node sort first and have no child
+            while (i < rangeEnd[node] && keys[i].length() == depth) {
+                i++;
+            }
+            firstChild[node] = size;
+            while (i < rangeEnd[node]) {
+                char label = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < rangeEnd[node] && keys[j].charAt(depth) == label) {
+                    j++;
+                }
+                labels[size] = label;
+                rangeStart[size] = i;
+                rangeEnd[size] = j;
+                queue.add(new int[] { size, depth + 1 });
+                size++;
+                childCount[node]++;
+                i = j;
+            }
+        }
+        labels = Arrays.copyOf(labels, size);
+        firstChild = Arrays.copyOf(firstChild, size);
+        childCount = Arrays.copyOf(childCount, size);
+        rangeStart = Arrays.copyOf(rangeStart, size);
+        rangeEnd = Arrays.copyOf(rangeEnd, size);
+
+        int[] topStart = new int[size];
+        int topSize = 0;
+        for (int node = 0; node < size; node++) {
+            topStart[node] = topSize;
+            topSize += Math.min(maxSuggestions, rangeEnd[node] - rangeStart[node]);
+        }
+        int[] top = new int[topSize];
+        int[] topFilled = new int[size];
+        // Walk the path of each title, from the best ranked, and add it to the nodes which are not full yet
+        for (int title : rank(keys)) {
+            int node = 0;
+            for (int depth = 0; ; depth++) {
+                if (topFilled[node] < Math.min(maxSuggestions, rangeEnd[node] - rangeStart[node])) {
+                    top[topStart[node] + topFilled[node]++] = title;
+                }
+                if (depth == keys[title].length()) {
+                    break;
+                }
+                node = findChild(labels, firstChild, childCount, node, keys[title].charAt(depth));
+            }
+        }
+        return new TitleTrie(maxSuggestions, values, labels, firstChild, childCount, rangeStart, rangeEnd, topStart, top);
+    }
+
+    /**
+     * @return the indexes of the sorted keys, the shortest first, then in alphabetical order.
+     */
+    private static int[] rank(String[] keys) {
+        long[] lengthsAndIndexes = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lengthsAndIndexes[i] = ((long) keys[i].length() << 32) | i;
+        }
+        Arrays.sort(lengthsAndIndexes);
+        int[] ranked = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranked[i] = (int) lengthsAndIndexes[i];
+        }
+        return ranked;
+    }
+
+    /**
+     * Find the titles starting with the given prefix, ignoring case.
+     *
+     * @param prefix the prefix to look for.
+     * @param limit the maximum number of titles to return, capped by the maximum number of suggestions of the trie.
+     * @return the top-ranked matching titles: the shortest first, then in alphabetical order.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int node = 0;
+        for (int depth = 0; depth < key.length(); depth++) {
+            node = findChild(labels, firstChild, childCount, node, key.charAt(depth));
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+        int count = Math.max(Math.min(limit, Math.min(maxSuggestions, rangeEnd[node] - rangeStart[node])), 0);
+        List<String> result = new ArrayList<>(count);
+        for (int i = topStart[node]; i < topStart[node] + count; i++) {
+            result.add(titles[top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of distinct titles.
+     */
+    public int size() {
+        return titles.length;
+    }
+
+    private static int findChild(char[] labels, int[] firstChild, int[] childCount, int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (labels[middle] < label) {
+                low = middle + 1;
+            } else if (labels[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalize(String title) {
+        return title.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycompany.myapp.service.search;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe, in-memory trigram index over short texts keyed by entity id.
+ * <p>
+ * It answers case-insensitive "contains" lookups: the posting lists of the trigrams of the searched fragment
+ * are intersected, and the remaining candidates are verified against the indexed text.
+ */
+public class TrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, String> texts = new HashMap<>();
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    /**
+     * Index the text of an entity, replacing any previously indexed text.
+     *
+     * @param id the id of the entity.
+     * @param text the text to index.
+     */
+    public void put(Long id, String text) {
+        if (id == null || text == null) {
+            return;
+        }
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            String previous = texts.put(id, normalized);
+            if (normalized.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entity from the index.
+     *
+     * @param id the id of the entity.
+     */
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String previous = texts.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the ids of all entities whose text contains the given fragment, ignoring case.
+     *
+     * @param fragment the fragment to look for.
+     * @return the matching ids.
+     */
+    public Set<Long> findContaining(String fragment) {
+        String needle = normalize(fragment);
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM_LENGTH) {
+                return verify(texts.keySet(), needle);
+            }
+            Set<Long> smallest = null;
+            for (String gram : grams(needle)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                if (smallest == null || ids.size() < smallest.size()) {
+                    smallest = ids;
+                }
+            }
+            return verify(smallest, needle);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed entities.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> verify(Set<Long> candidates, String needle) {
+        Set<Long> result = new HashSet<>();
+        for (Long id : candidates) {
+            if (texts.get(id).contains(needle)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void unlink(Long id, String text) {
+        for (String gram : grams(text)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        return text.toUpperCase(Locale.ROOT);
+    }
+}
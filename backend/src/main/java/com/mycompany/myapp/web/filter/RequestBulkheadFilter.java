@@ -0,0 +1,67 @@
+package com.mycompany.myapp.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Bulkhead limiting the number of requests handled at once.
+ * <p>
+ * A request waits for its turn without holding any connection, and is rejected with {@code 503 (Service Unavailable)}
+ * if it waited longer than the acquire timeout, instead of piling up in the database or cache client pools.
+ */
+public class RequestBulkheadFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_METER_NAME = "http.server.requests.bulkhead.rejected";
+
+    public static final String AVAILABLE_METER_NAME = "http.server.requests.bulkhead.available";
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutNanos;
+
+    private final Counter rejected;
+
+    public RequestBulkheadFilter(int maxConcurrentRequests, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = Counter.builder(REJECTED_METER_NAME).description("Requests rejected by the bulkhead").register(meterRegistry);
+        Gauge
+            .builder(AVAILABLE_METER_NAME, permits, Semaphore::availablePermits)
+            .description("Requests which can still be handled without waiting")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.management.StatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements prepared by each request, to find N+1 selects before they reach production.
+ * <p>
+ * The count is published, and stored in the {@link StatementCounter#STATEMENTS_ATTRIBUTE} request attribute for the
+ * {@code http.server.requests} tags. Requests preparing more statements than the budget of their endpoint are logged,
+ * and fail in strict mode, which the tests use.
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METER_NAME = "http.server.requests.statements";
+
+    public static final String OVER_BUDGET_METER_NAME = "http.server.requests.statements.over-budget";
+
+    private final Logger log = LoggerFactory.getLogger(StatementCountFilter.class);
+
+    private final StatementCounter statementCounter;
+
+    private final int defaultBudget;
+
+    private final Map<String, Integer> budgets;
+
+    private final boolean strict;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DistributionSummary statements;
+
+    /**
+     * @param statementCounter the counter of the statements prepared by Hibernate.
+     * @param defaultBudget the maximum number of statements of a request, unless its endpoint has its own budget.
+     * @param budgets the budgets of the endpoints, by HTTP method and path pattern, e.g. {@code GET /api/cart}.
+     * @param strict whether a request above its budget fails, instead of only being logged.
+     * @param meterRegistry the meter registry.
+     */
+    public StatementCountFilter(
+        StatementCounter statementCounter,
+        int defaultBudget,
+        Map<String, Integer> budgets,
+        boolean strict,
+        MeterRegistry meterRegistry
+    ) {
+        this.statementCounter = statementCounter;
+        this.defaultBudget = defaultBudget;
+        this.budgets = budgets;
+        this.strict = strict;
+        this.meterRegistry = meterRegistry;
+        this.statements =
+            DistributionSummary
+                .builder(STATEMENTS_METER_NAME)
+                .description("SQL statements prepared by a request")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        long count;
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count = statementCounter.stop();
+            request.setAttribute(StatementCounter.STATEMENTS_ATTRIBUTE, count);
+            statements.record(count);
+        }
+        checkBudget(request, count);
+    }
+
+    private void checkBudget(HttpServletRequest request, long count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Not handled by a controller
+            return;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        if (count <= budget) {
+            return;
+        }
+        Counter
+            .builder(OVER_BUDGET_METER_NAME)
+            .description("Requests which prepared more SQL statements than the budget of their endpoint")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern.toString())
+            .register(meterRegistry)
+            .increment();
+        String message = endpoint + " prepared " + count + " SQL statements, above its budget of " + budget;
+        if (strict) {
+            throw new IllegalStateException(message);
+        }
+        log.warn("{}, look for N+1 selects", message);
+    }
+}
@@ -1,16 +1,24 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.repository.CartItemRepository;
+import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.CartItemQueryService;
 import com.mycompany.myapp.service.CartItemService;
 import com.mycompany.myapp.service.criteria.CartItemCriteria;
+import com.mycompany.myapp.service.dto.CartBatchDTO;
+import com.mycompany.myapp.service.dto.CartDTO;
 import com.mycompany.myapp.service.dto.CartItemDTO;
+import com.mycompany.myapp.service.dto.CartOperationDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.JsonStreamingUtil;
+import com.mycompany.myapp.web.rest.util.SeekPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +27,9 @@ import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -46,21 +56,29 @@ public class CartItemResource {
 
     private final CartItemQueryService cartItemQueryService;
 
+    private final ObjectMapper objectMapper;
+
     public CartItemResource(
         CartItemService cartItemService,
         CartItemRepository cartItemRepository,
-        CartItemQueryService cartItemQueryService
+        CartItemQueryService cartItemQueryService,
+        ObjectMapper objectMapper
     ) {
         this.cartItemService = cartItemService;
         this.cartItemRepository = cartItemRepository;
         this.cartItemQueryService = cartItemQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * {@code POST  /cart-items} : Create a new cartItem.
+     * {@code POST  /cart-items} : Add a product to the cart of the current user.
+     * If the cart already holds this product, the quantity of its line is increased.
      *
      * @param cartItemDTO the cartItemDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cartItemDTO, or with status {@code 400 (Bad Request)} if the cartItem has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cartItemDTO,
+     * or with status {@code 200 (OK)} and with body the updated cartItemDTO if the cart already held the product,
+     * or with status {@code 400 (Bad Request)} if the cartItem has already an ID or no product,
+     * or with status {@code 409 (Conflict)} if a concurrent request added the same product first.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/cart-items")
@@ -69,20 +87,58 @@ public class CartItemResource {
         if (cartItemDTO.getId() != null) {
             throw new BadRequestAlertException("A new cartItem cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        if (cartItemDTO.getProduct() == null || cartItemDTO.getProduct().getId() == null) {
+            throw new BadRequestAlertException("A new cartItem must have a product", ENTITY_NAME, "productnull");
+        }
         CartItemDTO result = cartItemService.save(cartItemDTO);
+        // Quantities are at least 1, so the line ends up with more than the requested quantity only if it existed
+        int requestedQuantity = cartItemDTO.getQuantity() == null ? 1 : cartItemDTO.getQuantity();
+        if (result.getQuantity() > requestedQuantity) {
+            return ResponseEntity
+                .ok()
+                .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+                .body(result);
+        }
         return ResponseEntity
             .created(new URI("/api/cart-items/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /cart-items/_batch} : Apply operations to the cart of the current user, at once.
+     * <p>
+     * The operations add, remove or set the quantity of products, in order and in a single transaction: either all of
+     * them are applied, or none. Clients can queue them, e.g. while offline, and send them in a single request, with a
+     * batch id so that retrying the request does not apply them twice.
+     *
+     * @param cartBatchDTO the operations to apply.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resulting cart,
+     * or with status {@code 400 (Bad Request)} if an operation is not valid or one of the products does not exist,
+     * or with status {@code 409 (Conflict)} if a concurrent single addition created the line of the same product first.
+     */
+    @PostMapping("/cart-items/_batch")
+    public ResponseEntity<CartDTO> applyCartOperations(@Valid @RequestBody CartBatchDTO cartBatchDTO) {
+        log.debug("REST request to apply operations to the Cart : {}", cartBatchDTO);
+        for (CartOperationDTO operation : cartBatchDTO.getOperations()) {
+            if (operation.getType() == CartOperationDTO.Type.SET_QUANTITY && operation.getQuantity() == null) {
+                throw new BadRequestAlertException("A set quantity operation must have a quantity", ENTITY_NAME, "quantitynull");
+            }
+        }
+        CartDTO result = cartItemService
+            .applyOperations(cartBatchDTO.getBatchId(), cartBatchDTO.getOperations())
+            .orElseThrow(() -> new BadRequestAlertException("A product of the operations does not exist", ENTITY_NAME, "productnotfound"));
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * {@code PUT  /cart-items/:id} : Updates an existing cartItem.
      *
      * @param id          the id of the cartItemDTO to save.
      * @param cartItemDTO the cartItemDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cartItemDTO,
-     * or with status {@code 400 (Bad Request)} if the cartItemDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the cartItemDTO is not valid or its product already has another line,
+     * or with status {@code 409 (Conflict)} if a concurrent request gave that product another line,
      * or with status {@code 500 (Internal Server Error)} if the cartItemDTO couldn't be updated.
      */
     @PutMapping("/cart-items/{id}")
@@ -98,9 +154,16 @@ public class CartItemResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!cartItemRepository.existsById(id)) {
+        String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+        if (!cartItemRepository.existsByIdAndLogin(id, login)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        if (
+            cartItemDTO.getProduct() != null &&
+            cartItemRepository.existsByLoginAndProductIdAndIdNot(login, cartItemDTO.getProduct().getId(), id)
+        ) {
+            throw new BadRequestAlertException("The cart already has a line for this product", ENTITY_NAME, "productexists");
+        }
 
         CartItemDTO result = cartItemService.update(cartItemDTO);
         return ResponseEntity
@@ -114,19 +177,61 @@ public class CartItemResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last entity of the previous page, to seek past it instead of counting and skipping rows.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cartItems in body.
      */
     @GetMapping("/cart-items")
     public ResponseEntity<List<CartItemDTO>> getAllCartItems(
         CartItemCriteria criteria,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = SeekPaginationUtil.AFTER_PARAMETER, required = false) Long after
     ) {
         log.debug("REST request to get CartItems by criteria: {}", criteria);
+        if (after != null) {
+            Slice<CartItemDTO> slice = cartItemQueryService.findByCriteriaAfter(criteria, after, pageable.getPageSize());
+            HttpHeaders headers = SeekPaginationUtil.generateSeekPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                CartItemDTO::getId
+            );
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<CartItemDTO> page = cartItemQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /cart} : get the cart of the current user.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cart lines and their total price.
+     */
+    @GetMapping("/cart")
+    public ResponseEntity<CartDTO> getCart() {
+        log.debug("REST request to get the Cart");
+        return ResponseEntity.ok(cartItemService.findCart());
+    }
+
+    /**
+     * {@code GET  /cart-items/_export} : export all the cartItems, streamed from a database cursor.
+     * <p>
+     * Unlike {@code GET  /cart-items}, the whole result is written as newline delimited JSON ({@code application/x-ndjson}),
+     * one entity per line, in constant memory, without pagination nor count query.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param response the response the entities are written to, with status {@code 200 (OK)}.
+     * @throws IOException if the response could not be written.
+     */
+    @GetMapping("/cart-items/_export")
+    public void exportCartItems(CartItemCriteria criteria, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export CartItems by criteria: {}", criteria);
+        JsonStreamingUtil.<CartItemDTO>writeNdjson(
+            response,
+            objectMapper,
+            action -> cartItemQueryService.exportByCriteria(criteria, action)
+        );
+    }
+
     /**
      * {@code GET  /cart-items/:id} : get the "id" cartItem.
      *
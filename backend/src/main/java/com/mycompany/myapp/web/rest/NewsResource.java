@@ -1,16 +1,31 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.News;
 import com.mycompany.myapp.repository.NewsRepository;
+import com.mycompany.myapp.service.EntityVersionService;
 import com.mycompany.myapp.service.NewsQueryService;
 import com.mycompany.myapp.service.NewsService;
+import com.mycompany.myapp.service.cache.SerializedResponseCache;
 import com.mycompany.myapp.service.criteria.NewsCriteria;
 import com.mycompany.myapp.service.dto.NewsDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.JsonStreamingUtil;
+import com.mycompany.myapp.web.rest.util.SeekPaginationUtil;
+import com.mycompany.myapp.web.rest.util.SerializedResponseUtil;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -18,7 +33,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -46,10 +63,26 @@ public class NewsResource {
 
     private final NewsQueryService newsQueryService;
 
-    public NewsResource(NewsService newsService, NewsRepository newsRepository, NewsQueryService newsQueryService) {
+    private final ObjectMapper objectMapper;
+
+    private final EntityVersionService entityVersionService;
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    public NewsResource(
+        NewsService newsService,
+        NewsRepository newsRepository,
+        NewsQueryService newsQueryService,
+        ObjectMapper objectMapper,
+        EntityVersionService entityVersionService,
+        SerializedResponseCache serializedResponseCache
+    ) {
         this.newsService = newsService;
         this.newsRepository = newsRepository;
         this.newsQueryService = newsQueryService;
+        this.objectMapper = objectMapper;
+        this.entityVersionService = entityVersionService;
+        this.serializedResponseCache = serializedResponseCache;
     }
 
     /**
@@ -107,33 +140,120 @@ public class NewsResource {
 
     /**
      * {@code GET  /news} : get all the news.
+     * <p>
+     * The serialized unfiltered first page, which every client loads, is cached, so that it is sent as is until the news change.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of news in body.
+     * @param after the id of the last entity of the previous page, to seek past it instead of counting and skipping rows.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the serialized list of news in body, or with status
+     * {@code 304 (Not Modified)} if no news changed since the client got its representation.
+     * @throws JsonProcessingException if the news could not be serialized.
      */
     @GetMapping("/news")
-    public ResponseEntity<List<NewsDTO>> getAllNews(
+    @ApiResponse(
+        responseCode = "200",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = NewsDTO.class))
+        )
+    )
+    public ResponseEntity<byte[]> getAllNews(
         NewsCriteria criteria,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
-    ) {
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = SeekPaginationUtil.AFTER_PARAMETER, required = false) Long after,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) throws JsonProcessingException {
         log.debug("REST request to get News by criteria: {}", criteria);
+        long version = entityVersionService.getVersion(News.class);
+        String eTag = ETagUtil.fromVersion(version);
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        HttpHeaders headers = ETagUtil.createETagHeaders(eTag);
+        if (after == null && pageable.getPageNumber() == 0 && new NewsCriteria().equals(criteria)) {
+            return getFirstPage(criteria, pageable, version, headers);
+        }
+        List<NewsDTO> content;
+        if (after != null) {
+            Slice<NewsDTO> slice = newsQueryService.findByCriteriaAfter(criteria, after, pageable.getPageSize());
+            headers.addAll(
+                SeekPaginationUtil.generateSeekPaginationHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    NewsDTO::getId
+                )
+            );
+            content = slice.getContent();
+        } else {
+            Page<NewsDTO> page = newsQueryService.findByCriteria(criteria, pageable);
+            headers.addAll(PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page));
+            content = page.getContent();
+        }
+        return SerializedResponseUtil.ok(headers, objectMapper.writeValueAsBytes(content));
+    }
+
+    /**
+     * Get the unfiltered first page of news from its cached serialized form, or serialize and cache it.
+     */
+    private ResponseEntity<byte[]> getFirstPage(NewsCriteria criteria, Pageable pageable, long version, HttpHeaders headers)
+        throws JsonProcessingException {
+        // The pagination links are absolute, so they depend on the host the request was sent to
+        String origin = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        String key = origin + "?size=" + pageable.getPageSize() + "&sort=" + pageable.getSort();
+        Optional<SerializedResponseCache.CachedResponse> cached = serializedResponseCache.get(News.class, key, version);
+        if (cached.isPresent()) {
+            headers.putAll(cached.get().getHeaders());
+            return SerializedResponseUtil.ok(headers, cached.get().getBody());
+        }
         Page<NewsDTO> page = newsQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        HttpHeaders paginationHeaders = PaginationUtil.generatePaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            page
+        );
+        byte[] body = objectMapper.writeValueAsBytes(page.getContent());
+        serializedResponseCache.put(News.class, key, version, paginationHeaders, body);
+        headers.putAll(paginationHeaders);
+        return SerializedResponseUtil.ok(headers, body);
+    }
+
+    /**
+     * {@code GET  /news/_export} : export all the news, streamed from a database cursor.
+     * <p>
+     * Unlike {@code GET  /news}, the whole result is written as newline delimited JSON ({@code application/x-ndjson}),
+     * one entity per line, in constant memory, without pagination nor count query.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param response the response the entities are written to, with status {@code 200 (OK)}.
+     * @throws IOException if the response could not be written.
+     */
+    @GetMapping("/news/_export")
+    public void exportNews(NewsCriteria criteria, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export News by criteria: {}", criteria);
+        JsonStreamingUtil.<NewsDTO>writeNdjson(response, objectMapper, action -> newsQueryService.exportByCriteria(criteria, action));
     }
 
     /**
      * {@code GET  /news/:id} : get the "id" news.
      *
      * @param id the id of the newsDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the newsDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the newsDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if no news changed since the client got its representation.
      */
     @GetMapping("/news/{id}")
-    public ResponseEntity<NewsDTO> getNews(@PathVariable Long id) {
+    public ResponseEntity<NewsDTO> getNews(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get News : {}", id);
+        String eTag = ETagUtil.fromVersion(entityVersionService.getVersion(News.class));
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         Optional<NewsDTO> newsDTO = newsService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(newsDTO);
+        return ResponseUtil.wrapOrNotFound(newsDTO, ETagUtil.createETagHeaders(eTag));
     }
 
     /**
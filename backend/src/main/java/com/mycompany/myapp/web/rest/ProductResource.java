@@ -1,30 +1,64 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.Product;
 import com.mycompany.myapp.repository.ProductRepository;
+import com.mycompany.myapp.service.EntityVersionService;
 import com.mycompany.myapp.service.ProductQueryService;
 import com.mycompany.myapp.service.ProductService;
+import com.mycompany.myapp.service.cache.SerializedResponseCache;
 import com.mycompany.myapp.service.criteria.ProductCriteria;
+import com.mycompany.myapp.service.dto.PriceBucketDTO;
 import com.mycompany.myapp.service.dto.ProductDTO;
+import com.mycompany.myapp.service.search.ProductTitleIndex;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.BulkImportReport;
+import com.mycompany.myapp.web.rest.util.CsvReader;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.JsonStreamingUtil;
+import com.mycompany.myapp.web.rest.util.SeekPaginationUtil;
+import com.mycompany.myapp.web.rest.util.SerializedResponseUtil;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.persistence.PersistenceException;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Product}.
@@ -37,6 +71,12 @@ public class ProductResource {
 
     private static final String ENTITY_NAME = "backendProduct";
 
+    private static final int MAX_PRICE_BUCKETS = 100;
+
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -46,10 +86,34 @@ public class ProductResource {
 
     private final ProductQueryService productQueryService;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository, ProductQueryService productQueryService) {
+    private final ProductTitleIndex productTitleIndex;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityVersionService entityVersionService;
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    private final Validator validator;
+
+    public ProductResource(
+        ProductService productService,
+        ProductRepository productRepository,
+        ProductQueryService productQueryService,
+        ProductTitleIndex productTitleIndex,
+        ObjectMapper objectMapper,
+        EntityVersionService entityVersionService,
+        SerializedResponseCache serializedResponseCache,
+        Validator validator
+    ) {
         this.productService = productService;
         this.productRepository = productRepository;
         this.productQueryService = productQueryService;
+        this.productTitleIndex = productTitleIndex;
+        this.objectMapper = objectMapper;
+        this.entityVersionService = entityVersionService;
+        this.serializedResponseCache = serializedResponseCache;
+        this.validator = validator;
     }
 
     /**
@@ -72,6 +136,167 @@ public class ProductResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /products/_bulk} : Create new products from a JSON array.
+     * <p>
+     * The array is read as it is received. Valid products are saved in transactions of 1000 products, the
+     * invalid ones are reported as they are read.
+     *
+     * @param body the JSON array of productDTOs to create.
+     * @param response the response the {@link BulkImportReport} is written to, with status {@code 200 (OK)}.
+     * @throws IOException if the request could not be read or the response could not be written.
+     */
+    @PostMapping(value = "/products/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void importProductsFromJson(InputStream body, HttpServletResponse response) throws IOException {
+        log.debug("REST request to import Products from JSON");
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestAlertException("A JSON array is expected", ENTITY_NAME, "bulkinvalid");
+            }
+            importProducts(
+                () -> {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY || token == null) {
+                        return null;
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        return objectMapper.treeToValue(node, ProductDTO.class);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalArgumentException("Invalid product: " + e.getOriginalMessage());
+                    }
+                },
+                response
+            );
+        }
+    }
+
+    /**
+     * {@code POST  /products/_bulk} : Create new products from CSV, with a {@code title,price,image} header row.
+     * <p>
+     * The rows are read as they are received. Valid products are saved in transactions of 1000 products, the
+     * invalid ones are reported as they are read.
+     *
+     * @param body the CSV rows of the products to create.
+     * @param response the response the {@link BulkImportReport} is written to, with status {@code 200 (OK)}.
+     * @throws IOException if the request could not be read or the response could not be written.
+     */
+    @PostMapping(value = "/products/_bulk", consumes = CSV_MEDIA_TYPE)
+    public void importProductsFromCsv(InputStream body, HttpServletResponse response) throws IOException {
+        log.debug("REST request to import Products from CSV");
+        CsvReader reader = new CsvReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> header = reader.readRow();
+        int title = header == null ? -1 : header.indexOf("title");
+        int price = header == null ? -1 : header.indexOf("price");
+        int image = header == null ? -1 : header.indexOf("image");
+        if (title < 0 || price < 0 || image < 0) {
+            throw new BadRequestAlertException("A title,price,image header row is expected", ENTITY_NAME, "bulkinvalid");
+        }
+        importProducts(
+            () -> {
+                List<String> values = reader.readRow();
+                while (values != null && values.size() == 1 && values.get(0).isEmpty()) {
+                    // Blank line
+                    values = reader.readRow();
+                }
+                if (values == null) {
+                    return null;
+                }
+                if (values.size() != header.size()) {
+                    throw new IllegalArgumentException("Expected " + header.size() + " values, found " + values.size());
+                }
+                ProductDTO productDTO = new ProductDTO();
+                productDTO.setTitle(values.get(title));
+                productDTO.setImage(values.get(image));
+                try {
+                    productDTO.setPrice(values.get(price).isEmpty() ? null : new BigDecimal(values.get(price)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("price: not a number");
+                }
+                return productDTO;
+            },
+            response
+        );
+    }
+
+    /**
+     * Validate the products read from a bulk request, and save the valid ones in chunks.
+     */
+    private void importProducts(ProductReader reader, HttpServletResponse response) throws IOException {
+        try (BulkImportReport report = BulkImportReport.start(response, objectMapper)) {
+            List<ProductDTO> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            List<Integer> chunkRows = new ArrayList<>(BULK_CHUNK_SIZE);
+            for (int row = 1;; row++) {
+                ProductDTO productDTO;
+                try {
+                    productDTO = reader.read();
+                } catch (IllegalArgumentException e) {
+                    report.rejected(row, List.of(e.getMessage()));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    // The rest of the content cannot be parsed reliably
+                    report.rejected(row, List.of("Malformed content, the following rows were not read: " + e.getOriginalMessage()));
+                    break;
+                }
+                if (productDTO == null) {
+                    break;
+                }
+                List<String> errors = validate(productDTO);
+                if (!errors.isEmpty()) {
+                    report.rejected(row, errors);
+                    continue;
+                }
+                chunk.add(productDTO);
+                chunkRows.add(row);
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    saveChunk(chunk, chunkRows, report);
+                }
+            }
+            saveChunk(chunk, chunkRows, report);
+        }
+    }
+
+    private List<String> validate(ProductDTO productDTO) {
+        if (productDTO.getId() != null) {
+            return List.of("id: a new product cannot already have an ID");
+        }
+        return validator
+            .validate(productDTO)
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private void saveChunk(List<ProductDTO> chunk, List<Integer> chunkRows, BulkImportReport report) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            report.created(productService.saveAll(chunk));
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Could not save a chunk of {} Products: {}", chunk.size(), e.getMessage());
+            for (int row : chunkRows) {
+                report.rejected(row, List.of("Could not be saved with its chunk of " + chunk.size() + " rows"));
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    /**
+     * Reads the products of a bulk request, one row at a time.
+     */
+    @FunctionalInterface
+    private interface ProductReader {
+        /**
+         * @return the next product, or {@code null} after the last one.
+         * @throws IllegalArgumentException if the row cannot be read as a product.
+         * @throws IOException if the content could not be read.
+         */
+        ProductDTO read() throws IOException;
+    }
+
     /**
      * {@code PUT  /products/:id} : Updates an existing product.
      *
@@ -110,30 +335,131 @@ public class ProductResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     * @param after the id of the last entity of the previous page, to seek past it instead of counting and skipping rows.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body,
+     * or with status {@code 304 (Not Modified)} if no product changed since the client got its representation.
      */
     @GetMapping("/products")
     public ResponseEntity<List<ProductDTO>> getAllProducts(
         ProductCriteria criteria,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = SeekPaginationUtil.AFTER_PARAMETER, required = false) Long after,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.debug("REST request to get Products by criteria: {}", criteria);
+        String eTag = ETagUtil.fromVersion(entityVersionService.getVersion(Product.class));
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        if (after != null) {
+            Slice<ProductDTO> slice = productQueryService.findByCriteriaAfter(criteria, after, pageable.getPageSize());
+            HttpHeaders headers = SeekPaginationUtil.generateSeekPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                ProductDTO::getId
+            );
+            return ResponseEntity.ok().headers(headers).headers(ETagUtil.createETagHeaders(eTag)).body(slice.getContent());
+        }
         Page<ProductDTO> page = productQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).headers(ETagUtil.createETagHeaders(eTag)).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products/_suggest} : get the product titles starting with a prefix.
+     *
+     * @param prefix the prefix the titles should start with, ignoring case.
+     * @param size the maximum number of titles to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the distinct matching titles in body, the shortest first,
+     * then in alphabetical order.
+     */
+    @GetMapping("/products/_suggest")
+    public ResponseEntity<List<String>> suggestProductTitles(@RequestParam String prefix, @RequestParam(defaultValue = "10") int size) {
+        log.debug("REST request to suggest Product titles : {}", prefix);
+        if (size < 1 || size > ProductTitleIndex.MAX_SUGGESTIONS) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok().body(productTitleIndex.suggest(prefix, size));
+    }
+
+    /**
+     * {@code GET  /products/_facets} : count the products in price ranges.
+     *
+     * @param criteria the criteria which the counted entities should match.
+     * @param buckets the maximum number of price ranges, of equal width between the lowest and the highest matching price.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the price ranges with their number of products in body,
+     * or with status {@code 304 (Not Modified)} if no product changed since the client got its representation.
+     */
+    @GetMapping("/products/_facets")
+    public ResponseEntity<List<PriceBucketDTO>> getProductPriceFacets(
+        ProductCriteria criteria,
+        @RequestParam(defaultValue = "10") int buckets,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        log.debug("REST request to get Product price facets by criteria: {}", criteria);
+        if (buckets < 1 || buckets > MAX_PRICE_BUCKETS) {
+            throw new BadRequestAlertException("Invalid number of buckets", ENTITY_NAME, "bucketsinvalid");
+        }
+        String eTag = ETagUtil.fromVersion(entityVersionService.getVersion(Product.class));
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        return ResponseEntity.ok().headers(ETagUtil.createETagHeaders(eTag)).body(productQueryService.findPriceBuckets(criteria, buckets));
+    }
+
+    /**
+     * {@code GET  /products/_export} : export all the products, streamed from a database cursor.
+     * <p>
+     * Unlike {@code GET  /products}, the whole result is written as newline delimited JSON ({@code application/x-ndjson}),
+     * one entity per line, in constant memory, without pagination nor count query.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param response the response the entities are written to, with status {@code 200 (OK)}.
+     * @throws IOException if the response could not be written.
+     */
+    @GetMapping("/products/_export")
+    public void exportProducts(ProductCriteria criteria, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Products by criteria: {}", criteria);
+        JsonStreamingUtil.<ProductDTO>writeNdjson(response, objectMapper, action -> productQueryService.exportByCriteria(criteria, action));
     }
 
     /**
      * {@code GET  /products/:id} : get the "id" product.
+     * <p>
+     * The serialized productDTO is cached, so that it is sent as is until the product changes.
      *
      * @param id the id of the productDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the serialized productDTO, or with status
+     * {@code 404 (Not Found)}, or with status {@code 304 (Not Modified)} if no product changed since the client got its representation.
+     * @throws JsonProcessingException if the productDTO could not be serialized.
      */
     @GetMapping("/products/{id}")
-    public ResponseEntity<ProductDTO> getProduct(@PathVariable Long id) {
+    @ApiResponse(
+        responseCode = "200",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProductDTO.class))
+    )
+    public ResponseEntity<byte[]> getProduct(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) throws JsonProcessingException {
         log.debug("REST request to get Product : {}", id);
-        Optional<ProductDTO> productDTO = productService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(productDTO);
+        long version = entityVersionService.getVersion(Product.class);
+        String eTag = ETagUtil.fromVersion(version);
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        HttpHeaders headers = ETagUtil.createETagHeaders(eTag);
+        Optional<SerializedResponseCache.CachedResponse> cached = serializedResponseCache.get(Product.class, id.toString(), version);
+        if (cached.isPresent()) {
+            return SerializedResponseUtil.ok(headers, cached.get().getBody());
+        }
+        ProductDTO productDTO = productService.findOne(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        byte[] body = objectMapper.writeValueAsBytes(productDTO);
+        serializedResponseCache.put(Product.class, id.toString(), version, Collections.emptyMap(), body);
+        return SerializedResponseUtil.ok(headers, body);
     }
 
     /**
@@ -5,15 +5,19 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.validation.BindingResult;
@@ -44,6 +48,12 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
     private static final String PATH_KEY = "path";
     private static final String VIOLATIONS_KEY = "violations";
 
+    /**
+     * Unique keys are named {@code ux_<table>__<columns>} by the Liquibase changelogs, and the database may prefix
+     * their name with the schema, such as {@code PUBLIC.UX_CART_ITEM__LOGIN_PRODUCT_ID_INDEX_8} for H2.
+     */
+    private static final Pattern UNIQUE_KEY_NAME = Pattern.compile("(^|\\W)ux_", Pattern.CASE_INSENSITIVE);
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -115,6 +125,36 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    /**
+     * Unique key violations that passed validation are caused by a concurrent write of the same key. Other integrity
+     * violations, such as a missing foreign key, are errors.
+     */
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleDataIntegrityViolation(DataIntegrityViolationException ex, NativeWebRequest request) {
+        if (!isUniqueKeyViolation(ex)) {
+            return create(ex, request);
+        }
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.CONFLICT)
+            .with(MESSAGE_KEY, ErrorConstants.ERR_DATA_INTEGRITY_VIOLATION)
+            .build();
+        return create(ex, problem, request);
+    }
+
+    private static boolean isUniqueKeyViolation(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                return constraintName != null && UNIQUE_KEY_NAME.matcher(constraintName).find();
+            }
+        }
+        return false;
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -0,0 +1,88 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+/**
+ * Report of a bulk import, written to the response as the rows are imported.
+ * <p>
+ * The report is a JSON object with an {@code errors} array, holding the {@code row} number and the {@code messages}
+ * of each rejected row, followed by the {@code created} and {@code rejected} counts once the import is over.
+ */
+public class BulkImportReport implements Closeable {
+
+    private final JsonGenerator generator;
+
+    private int created;
+
+    private int rejected;
+
+    private BulkImportReport(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Start writing the report, with status {@code 200 (OK)}.
+     *
+     * @param response the response to write to.
+     * @param objectMapper the mapper providing the JSON generator.
+     * @return the report.
+     * @throws IOException if the response could not be written.
+     */
+    public static BulkImportReport start(HttpServletResponse response, ObjectMapper objectMapper) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("errors");
+        return new BulkImportReport(generator);
+    }
+
+    /**
+     * Report a rejected row.
+     *
+     * @param row the number of the row, starting at 1.
+     * @param messages the reasons why the row was rejected.
+     * @throws IOException if the response could not be written.
+     */
+    public void rejected(int row, List<String> messages) throws IOException {
+        rejected++;
+        generator.writeStartObject();
+        generator.writeNumberField("row", row);
+        generator.writeArrayFieldStart("messages");
+        for (String message : messages) {
+            generator.writeString(message);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Report created rows.
+     *
+     * @param count the number of created rows.
+     */
+    public void created(int count) {
+        created += count;
+    }
+
+    /**
+     * End the report with the counts of created and rejected rows.
+     *
+     * @throws IOException if the response could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeNumberField("created", created);
+        generator.writeNumberField("rejected", rejected);
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming reader of comma-separated values, as described by RFC 4180: values may be enclosed in double
+ * quotes, in which case they may contain commas, line breaks and doubled double quotes.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+
+    private int next;
+
+    public CsvReader(Reader reader) throws IOException {
+        this.reader = reader;
+        this.next = reader.read();
+    }
+
+    /**
+     * Read the next row.
+     *
+     * @return the values of the row, or {@code null} after the last row.
+     * @throws IOException if the content could not be read, or if a quoted value is not closed.
+     */
+    public List<String> readRow() throws IOException {
+        if (next == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = next;
+            next = reader.read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unclosed quoted value");
+                } else if (c == '"' && next == '"') {
+                    value.append('"');
+                    next = reader.read();
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\r' && next == '\n') {
+                // Part of a CRLF line break, ended by the line feed
+            } else if (c == '\n' || c == -1) {
+                values.add(value.toString());
+                return values;
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+}
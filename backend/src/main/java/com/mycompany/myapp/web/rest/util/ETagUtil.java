@@ -0,0 +1,76 @@
+package com.mycompany.myapp.web.rest.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+/**
+ * Utility class for answering conditional {@code GET} requests with strong entity tags.
+ * <p>
+ * The responses are sent with {@code Cache-Control: no-cache}, so that browsers keep them and revalidate them with
+ * {@code If-None-Match} instead of downloading them again.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Create the strong entity tag of a version.
+     *
+     * @param version the version of the representation.
+     * @return the quoted entity tag.
+     */
+    public static String fromVersion(long version) {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against the current entity tag, using the weak comparison required for
+     * {@code GET} requests.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header of the request, if any.
+     * @param eTag the current entity tag.
+     * @return {@code true} if the client already has the current representation.
+     */
+    public static boolean matches(@Nullable String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create the headers of a response with an entity tag.
+     *
+     * @param eTag the entity tag.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders createETagHeaders(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache());
+        return headers;
+    }
+
+    /**
+     * Create the {@code 304 (Not Modified)} response for a representation the client already has.
+     *
+     * @param eTag the entity tag.
+     * @param <X> the type of the response body.
+     * @return the {@link ResponseEntity} without body.
+     */
+    public static <X> ResponseEntity<X> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(createETagHeaders(eTag)).build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+/**
+ * Utility class for writing large JSON results to the response as their elements are produced, in constant memory.
+ */
+public final class JsonStreamingUtil {
+
+    private JsonStreamingUtil() {}
+
+    /**
+     * Write newline delimited JSON to the response: one JSON object per line, with a streaming {@link JsonGenerator}.
+     * <p>
+     * The response is committed as soon as the generator buffer is flushed, so an error raised by the producer
+     * afterwards can only abort the response. Every complete line is a complete element, so the client can tell a
+     * truncated response from its last, incomplete, line.
+     *
+     * @param response the response to write to.
+     * @param objectMapper the mapper used to serialize each element.
+     * @param producer the function which passes each element, in order, to the given consumer.
+     * @param <T> the type of the elements.
+     * @throws IOException if the response could not be written.
+     */
+    public static <T> void writeNdjson(HttpServletResponse response, ObjectMapper objectMapper, Consumer<Consumer<T>> producer)
+        throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            // Each element is terminated by a newline instead of being separated from the next one by a space
+            generator.setRootValueSeparator(null);
+            try {
+                producer.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
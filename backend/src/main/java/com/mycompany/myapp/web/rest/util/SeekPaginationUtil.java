@@ -0,0 +1,50 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling seek pagination, where a page is requested with {@code after=<id>&size=<size>}.
+ * <p>
+ * Unlike {@link tech.jhipster.web.util.PaginationUtil}, no {@code X-Total-Count} header is returned, so the total
+ * number of entities never has to be counted: the only link is the {@code next} one, present while more entities follow.
+ */
+public final class SeekPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private SeekPaginationUtil() {}
+
+    /**
+     * Generate the pagination headers for a {@link Slice} read after a given id.
+     *
+     * @param uriBuilder the URI of the current request.
+     * @param slice the slice which was read.
+     * @param idExtractor the function returning the id of an element of the slice.
+     * @param <T> the type of the elements of the slice.
+     * @return the {@link HttpHeaders}, with a {@code next} link if more elements follow.
+     */
+    public static <T> HttpHeaders generateSeekPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String next = uriBuilder
+                .replaceQueryParam(AFTER_PARAMETER, idExtractor.apply(content.get(content.size() - 1)))
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, String.format(HEADER_LINK_FORMAT, next, "next"));
+        }
+        return headers;
+    }
+}
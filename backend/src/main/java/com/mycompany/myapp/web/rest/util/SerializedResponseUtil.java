@@ -0,0 +1,26 @@
+package com.mycompany.myapp.web.rest.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for sending an already serialized JSON body, such as the ones kept by
+ * {@link com.mycompany.myapp.service.cache.SerializedResponseCache}, without serializing it again.
+ */
+public final class SerializedResponseUtil {
+
+    private SerializedResponseUtil() {}
+
+    /**
+     * Wrap a JSON body in a {@link ResponseEntity} with status {@code 200 (OK)}: it is written as is, in a single write,
+     * by the byte array message converter.
+     *
+     * @param headers the headers of the response, besides the content type.
+     * @param body the serialized body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}.
+     */
+    public static ResponseEntity<byte[]> ok(HttpHeaders headers, byte[] body) {
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_JSON).contentLength(body.length).body(body);
+    }
+}
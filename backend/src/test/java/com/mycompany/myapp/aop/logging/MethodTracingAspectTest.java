@@ -0,0 +1,96 @@
+package com.mycompany.myapp.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+class MethodTracingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MethodTracingAspect aspect;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties.Logging.MethodTracing properties = new ApplicationProperties.Logging.MethodTracing();
+        properties.setSampleRate(1);
+        aspect = new MethodTracingAspect(properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        aspect.destroy();
+    }
+
+    @Test
+    void testDescribesContainersWithoutTheirElements() {
+        PageImpl<String> page = new PageImpl<>(List.of("a", "b"), PageRequest.of(3, 2), 100);
+
+        assertThat(MethodTracingAspect.describe(page, 10)).isEqualTo("PageImpl[number=3, elements=2]");
+        assertThat(MethodTracingAspect.describe(List.of(1, 2, 3), 10)).endsWith("[size=3]");
+        assertThat(MethodTracingAspect.describe(Map.of("key", "value"), 10)).endsWith("[size=1]");
+        assertThat(MethodTracingAspect.describe(new long[4], 10)).isEqualTo("long[4]");
+        assertThat(MethodTracingAspect.describe(Optional.of(List.of()), 10)).startsWith("Optional[").endsWith("[size=0]]");
+        assertThat(MethodTracingAspect.describe(ResponseEntity.ok(page), 10))
+            .isEqualTo("ResponseEntity[200, body=PageImpl[number=3, elements=2]]");
+    }
+
+    @Test
+    void testTruncatesLongDescriptions() {
+        assertThat(MethodTracingAspect.describe("0123456789abcdef", 10)).isEqualTo("0123456789...");
+        assertThat(MethodTracingAspect.describe(null, 10)).isEqualTo("null");
+        assertThat(MethodTracingAspect.describe(42L, 10)).isEqualTo("42");
+    }
+
+    @Test
+    void testTimesCallsByOutcome() throws Throwable {
+        ProceedingJoinPoint joinPoint = createJoinPoint("trim");
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertThat(aspect.traceAround(joinPoint)).isEqualTo("result");
+        assertThat(aspect.traceAround(joinPoint)).isEqualTo("result");
+
+        ProceedingJoinPoint failingJoinPoint = createJoinPoint("trim");
+        when(failingJoinPoint.proceed()).thenThrow(new IllegalStateException("failed"));
+
+        assertThatThrownBy(() -> aspect.traceAround(failingJoinPoint)).isInstanceOf(IllegalStateException.class);
+        assertThat(count("success")).isEqualTo(2);
+        assertThat(count("error")).isEqualTo(1);
+    }
+
+    private long count(String outcome) {
+        return meterRegistry
+            .get(MethodTracingAspect.CALLS_METER_NAME)
+            .tag("class", "String")
+            .tag("method", "trim")
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+    }
+
+    private static ProceedingJoinPoint createJoinPoint(String methodName) throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(String.class.getMethod(methodName));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        return joinPoint;
+    }
+}
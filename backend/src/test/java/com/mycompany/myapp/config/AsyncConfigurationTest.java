@@ -0,0 +1,90 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+class AsyncConfigurationTest {
+
+    private TaskExecutionProperties taskExecutionProperties;
+
+    private MockEnvironment env;
+
+    private Executor executor;
+
+    @BeforeEach
+    public void setup() {
+        taskExecutionProperties = new TaskExecutionProperties();
+        taskExecutionProperties.setThreadNamePrefix("test-task-");
+        taskExecutionProperties.getPool().setCoreSize(1);
+        taskExecutionProperties.getPool().setMaxSize(1);
+        taskExecutionProperties.getPool().setQueueCapacity(10);
+        env = new MockEnvironment();
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        if (executor != null) {
+            ((DisposableBean) executor).destroy();
+        }
+    }
+
+    @Test
+    void testTasksBeyondThePoolSizeAreQueued() throws Exception {
+        createExecutor();
+
+        assertTasksBeyondThePoolSizeAreQueued();
+    }
+
+    @Test
+    void testTasksRunOnVirtualThreadsWithTheVirtualThreadsProfile() throws Exception {
+        assumeTrue(VirtualThreadConfiguration.virtualThreadFactory("test-").isPresent(), "This Java runtime has no virtual threads");
+        env.setActiveProfiles(Constants.SPRING_PROFILE_VIRTUAL_THREADS);
+        createExecutor();
+
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        executor.execute(() -> thread.complete(Thread.currentThread()));
+        assertThat(thread.get(5, TimeUnit.SECONDS).getName()).startsWith("test-task-");
+        assertThat(VirtualThreadConfigurationTest.isVirtual(thread.get())).isTrue();
+        assertTasksBeyondThePoolSizeAreQueued();
+    }
+
+    private void createExecutor() throws Exception {
+        executor = new AsyncConfiguration(taskExecutionProperties, env).getAsyncExecutor();
+        ((InitializingBean) executor).afterPropertiesSet();
+    }
+
+    /**
+     * While the only thread of the pool is busy, submitting a task returns at once, and the task runs once the thread
+     * is free.
+     */
+    private void assertTasksBeyondThePoolSizeAreQueued() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch queuedTaskDone = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> executor.execute(queuedTaskDone::countDown));
+        assertThat(queuedTaskDone.getCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(queuedTaskDone.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+class CacheConfigurationTest {
+
+    @Test
+    void testNearCachedDomainMapConfig() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getHazelcast().setTimeToLiveSeconds(600);
+
+        MapConfig mapConfig = CacheConfiguration.initializeNearCachedDomainMapConfig(jHipsterProperties, "Product", 5000);
+
+        assertThat(mapConfig.getName()).isEqualTo("com.mycompany.myapp.domain.Product");
+        assertThat(mapConfig.getTimeToLiveSeconds()).isEqualTo(600);
+        NearCacheConfig nearCacheConfig = mapConfig.getNearCacheConfig();
+        assertThat(nearCacheConfig).isNotNull();
+        assertThat(nearCacheConfig.getName()).isEqualTo(mapConfig.getName());
+        assertThat(nearCacheConfig.isInvalidateOnChange()).isTrue();
+        assertThat(nearCacheConfig.getInMemoryFormat()).isEqualTo(InMemoryFormat.OBJECT);
+        assertThat(nearCacheConfig.getTimeToLiveSeconds()).isEqualTo(600);
+        assertThat(nearCacheConfig.getEvictionConfig().getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(nearCacheConfig.getEvictionConfig().getMaxSizePolicy()).isEqualTo(MaxSizePolicy.ENTRY_COUNT);
+        assertThat(nearCacheConfig.getEvictionConfig().getSize()).isEqualTo(5000);
+    }
+
+    @Test
+    void testNearCachedDomainMapConfigsAreIndependent() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+
+        MapConfig productConfig = CacheConfiguration.initializeNearCachedDomainMapConfig(jHipsterProperties, "Product", 5000);
+        MapConfig newsConfig = CacheConfiguration.initializeNearCachedDomainMapConfig(jHipsterProperties, "News", 100);
+
+        assertThat(productConfig.getNearCacheConfig().getEvictionConfig().getSize()).isEqualTo(5000);
+        assertThat(newsConfig.getName()).isEqualTo("com.mycompany.myapp.domain.News");
+        assertThat(newsConfig.getNearCacheConfig().getEvictionConfig().getSize()).isEqualTo(100);
+    }
+
+    @Test
+    void testReplicaStickinessMapConfig() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDatasource().getReplica().setStickiness(Duration.ofMillis(4500));
+        applicationProperties.getDatasource().getReplica().setStickinessNearCacheSize(200);
+
+        MapConfig mapConfig = CacheConfiguration.initializeReplicaStickinessMapConfig(applicationProperties);
+
+        assertThat(mapConfig.getName()).isEqualTo(ReplicaRoutingDataSource.STICKINESS_MAP_NAME);
+        assertThat(mapConfig.getTimeToLiveSeconds()).isEqualTo(5);
+        NearCacheConfig nearCacheConfig = mapConfig.getNearCacheConfig();
+        assertThat(nearCacheConfig.isInvalidateOnChange()).isTrue();
+        assertThat(nearCacheConfig.getTimeToLiveSeconds()).isEqualTo(5);
+        assertThat(nearCacheConfig.getEvictionConfig().getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(nearCacheConfig.getEvictionConfig().getSize()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.myapp.config;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.mycompany.myapp.domain.CartItem;
+import com.mycompany.myapp.domain.News;
+import com.mycompany.myapp.domain.Product;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the Java serialization of the second-level cache values, used by default by Hazelcast, against the
+ * serializers registered by {@link CacheConfiguration}: serialized size, serialization and deserialization time.
+ * <p>
+ * Run it with the {@link #main(String[])} method, from the test classpath. The serialized sizes are printed first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializationBenchmark {
+
+    @Param({ "Product", "News", "CartItem" })
+    private String entity;
+
+    @Param({ "java", "hazelcast" })
+    private String format;
+
+    private InternalSerializationService serializationService;
+
+    private AbstractReadWriteAccess.Item item;
+
+    private Data data;
+
+    @Setup
+    public void setup() {
+        serializationService = createSerializationService(format);
+        item = createItem(entity);
+        data = serializationService.toData(item);
+    }
+
+    @TearDown
+    public void teardown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return serializationService.toData(item);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializationService.toObject(data);
+    }
+
+    private static InternalSerializationService createSerializationService(String format) {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        if ("hazelcast".equals(format)) {
+            CacheConfiguration.initializeSerializationConfig(serializationConfig);
+        }
+        return new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+    }
+
+    private static AbstractReadWriteAccess.Item createItem(String entity) {
+        Serializable[] state;
+        String subclass;
+        switch (entity) {
+            case "Product":
+                state = new Serializable[] { "content/images/product-1.png", new BigDecimal("1299.99"), "Product 1" };
+                subclass = Product.class.getName();
+                break;
+            case "News":
+                state = new Serializable[] { "content/images/news-1.png" };
+                subclass = News.class.getName();
+                break;
+            case "CartItem":
+                state = new Serializable[] { "user", 1001L, 2 };
+                subclass = CartItem.class.getName();
+                break;
+            default:
+                throw new IllegalArgumentException(entity);
+        }
+        return new AbstractReadWriteAccess.Item(new StandardCacheEntryImpl(state, subclass, null), null, System.currentTimeMillis());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String entity : new String[] { "Product", "News", "CartItem" }) {
+            for (String format : new String[] { "java", "hazelcast" }) {
+                InternalSerializationService serializationService = createSerializationService(format);
+                int size = serializationService.toData(createItem(entity)).totalSize();
+                System.out.printf("%-8s %-9s %4d bytes%n", entity, format, size);
+                serializationService.dispose();
+            }
+        }
+        new Runner(new OptionsBuilder().include(CacheSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.mycompany.myapp.domain.Product;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheSerializationTest {
+
+    private InternalSerializationService serializationService;
+
+    @BeforeEach
+    public void setup() {
+        serializationService =
+            new DefaultSerializationServiceBuilder()
+                .setConfig(CacheConfiguration.initializeSerializationConfig(new SerializationConfig()))
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() {
+        serializationService.dispose();
+    }
+
+    @Test
+    void testCacheEntryRoundTrip() {
+        StandardCacheEntryImpl entry = new StandardCacheEntryImpl(
+            new Serializable[] { "image.png", new BigDecimal("19.99"), "Product", null },
+            Product.class.getName(),
+            null
+        );
+
+        Data data = serializationService.toData(entry);
+        StandardCacheEntryImpl result = serializationService.toObject(data);
+
+        assertThat(data.getType()).isEqualTo(CacheEntrySerializer.TYPE_ID);
+        assertThat(result.getSubclass()).isEqualTo(Product.class.getName());
+        assertThat(result.getVersion()).isNull();
+        assertThat(result.getDisassembledState()).containsExactly("image.png", new BigDecimal("19.99"), "Product", null);
+    }
+
+    @Test
+    void testReadWriteItemRoundTrip() {
+        StandardCacheEntryImpl entry = new StandardCacheEntryImpl(new Serializable[] { "user", 1L, 2 }, "CartItem", null);
+        AbstractReadWriteAccess.Item item = new AbstractReadWriteAccess.Item(entry, null, 42L);
+
+        Data data = serializationService.toData(item);
+        AbstractReadWriteAccess.Item result = serializationService.toObject(data);
+
+        assertThat(data.getType()).isEqualTo(ReadWriteItemSerializer.TYPE_ID);
+        assertThat(result.getTimestamp()).isEqualTo(42L);
+        assertThat(result.getVersion()).isNull();
+        assertThat(result.getValue()).isInstanceOf(StandardCacheEntryImpl.class);
+        assertThat(((StandardCacheEntryImpl) result.getValue()).getDisassembledState()).containsExactly("user", 1L, 2);
+    }
+}
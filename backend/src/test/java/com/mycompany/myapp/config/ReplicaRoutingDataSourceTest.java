@@ -0,0 +1,205 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.security.CartIdFilter;
+import com.mycompany.myapp.service.EntityVersionService;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final long ONE_SECOND = 1000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private ApplicationProperties.Datasource.Replica properties;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private ConcurrentMap<String, Long> stickyUntil;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    public void setup() {
+        DataSource primary = createDatabase("primary");
+        DataSource replica = createDatabase("replica");
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        replicaJdbcTemplate.execute("create table replica_lag (seconds double)");
+        replicaJdbcTemplate.update("insert into replica_lag values (0)");
+
+        properties = new ApplicationProperties.Datasource.Replica();
+        properties.setLagQuery("select seconds from replica_lag");
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setStickiness(Duration.ofSeconds(5));
+        stickyUntil = new ConcurrentHashMap<>();
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, properties, stickyUntil, now::get);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        authenticate("user");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRoutesReadOnlyTransactionsToReplica() {
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+        assertThat(readWriteTransaction.execute(status -> databaseName())).isEqualTo("primary");
+        assertThat(databaseName()).isEqualTo("primary");
+    }
+
+    @Test
+    void testReadsOwnWritesFromPrimary() {
+        readWriteTransaction.executeWithoutResult(status -> write());
+
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("primary");
+
+        authenticate("other");
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+
+        authenticate("user");
+        now.addAndGet(5 * ONE_SECOND);
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testRoutesVersionedReadsToPrimary() {
+        assertThat(
+            readOnlyTransaction.execute(status -> {
+                EntityVersionService.markVersionedRead();
+                return databaseName();
+            })
+        )
+            .isEqualTo("primary");
+        assertThat(EntityVersionService.isVersionedRead()).isFalse();
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testSticksAfterPlainStatementWrites() {
+        readWriteTransaction.executeWithoutResult(status -> {
+            databaseName();
+            jdbcTemplate.update("update database_name set name = name");
+        });
+
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("primary");
+    }
+
+    @Test
+    void testDoesNotStickAfterRollback() {
+        readWriteTransaction.executeWithoutResult(status -> {
+            write();
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testDoesNotStickWithoutWrites() {
+        readWriteTransaction.executeWithoutResult(status -> databaseName());
+
+        assertThat(stickyUntil).isEmpty();
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testAnonymousCartsDoNotStick() {
+        authenticate(CartIdFilter.CART_PRINCIPAL_PREFIX + UUID.randomUUID());
+
+        readWriteTransaction.executeWithoutResult(status -> write());
+
+        assertThat(stickyUntil).isEmpty();
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testDetectsWrites() {
+        assertThat(ReplicaRoutingDataSource.isWrite("select name from database_name")).isFalse();
+        assertThat(ReplicaRoutingDataSource.isWrite("\n  SELECT * from product")).isFalse();
+        assertThat(ReplicaRoutingDataSource.isWrite("/* load Product */ select p.id from product p")).isFalse();
+        assertThat(ReplicaRoutingDataSource.isWrite("insert into product (id) values (?)")).isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("/* update News */ update news set image=? where id=?")).isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("delete from cart_item where id=?")).isTrue();
+        assertThat(ReplicaRoutingDataSource.isWrite("call refresh_stock()")).isTrue();
+    }
+
+    @Test
+    void testRoutesToPrimaryWhileReplicaIsLate() {
+        replicaJdbcTemplate.update("update replica_lag set seconds = 6");
+        routingDataSource.checkReplicaLag();
+
+        assertThat(routingDataSource.isReplicaInSync()).isFalse();
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("primary");
+
+        replicaJdbcTemplate.update("update replica_lag set seconds = 5");
+        routingDataSource.checkReplicaLag();
+
+        assertThat(routingDataSource.isReplicaInSync()).isTrue();
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testRoutesToPrimaryWhenLagCannotBeMeasured() {
+        replicaJdbcTemplate.execute("drop table replica_lag");
+        routingDataSource.checkReplicaLag();
+
+        assertThat(routingDataSource.isReplicaInSync()).isFalse();
+        assertThat(readOnlyTransaction.execute(status -> databaseName())).isEqualTo("primary");
+    }
+
+    private void write() {
+        jdbcTemplate.update("update database_name set name = ? where name = ?", "primary", "primary");
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("select name from database_name", String.class);
+    }
+
+    private static DataSource createDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+            "sa",
+            ""
+        );
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table database_name (name varchar(20))");
+        jdbcTemplate.update("insert into database_name values (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, login));
+    }
+}
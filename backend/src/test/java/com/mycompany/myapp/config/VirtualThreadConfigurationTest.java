@@ -0,0 +1,40 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+
+class VirtualThreadConfigurationTest {
+
+    @BeforeEach
+    public void setup() {
+        assumeTrue(VirtualThreadConfiguration.virtualThreadFactory("test-").isPresent(), "This Java runtime has no virtual threads");
+    }
+
+    @Test
+    void testUndertowRunsRequestsOnVirtualThreads() throws Exception {
+        UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory();
+        new VirtualThreadConfiguration().virtualThreadUndertowCustomizer().customize(factory);
+        DeploymentInfo deploymentInfo = new DeploymentInfo();
+        factory.getDeploymentInfoCustomizers().forEach(customizer -> customizer.customize(deploymentInfo));
+
+        assertThat(deploymentInfo.getExecutor()).isNotNull();
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        deploymentInfo.getExecutor().execute(() -> thread.complete(Thread.currentThread()));
+        assertThat(thread.get(5, TimeUnit.SECONDS).getName()).startsWith("backend-request-");
+        assertThat(isVirtual(thread.get())).isTrue();
+    }
+
+    /**
+     * Call {@code Thread.isVirtual()}, which the Java version of the build does not have.
+     */
+    static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+
+class MeteredStatisticsTest {
+
+    @Test
+    void testShapeRedactsLiterals() {
+        assertThat(MeteredStatistics.shapeOf("select p from Product p where p.title = 'O''Neil' and p.price > 12.50"))
+            .isEqualTo("select p from Product p where p.title = ? and p.price > ?");
+        assertThat(MeteredStatistics.shapeOf("select c from CartItem c where c.quantity >= -1")).endsWith("c.quantity >= ?");
+    }
+
+    @Test
+    void testShapeKeepsParametersAndIdentifiers() {
+        String query =
+            "select generatedAlias0 from Product as generatedAlias0 where generatedAlias0.id>:param0 order by generatedAlias0.id asc";
+
+        assertThat(MeteredStatistics.shapeOf(query)).isEqualTo(query);
+        assertThat(MeteredStatistics.shapeOf("select p from Product p where p.id = ?1")).endsWith("p.id = ?1");
+    }
+
+    @Test
+    void testShapeCollapsesParameterLists() {
+        assertThat(MeteredStatistics.shapeOf("select p from Product p where p.id in (:param0, :param1,\n :param2, :param3)"))
+            .isEqualTo("select p from Product p where p.id in (...)");
+        assertThat(MeteredStatistics.shapeOf("select * from product where id in (1, 2, 3)"))
+            .isEqualTo("select * from product where id in (...)");
+    }
+
+    @Test
+    void testQueriesOfOneShapeShareTheirTimer() {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().getQueryStatisticsMaxSize()).thenReturn(100);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MeteredStatistics statistics = new MeteredStatistics(sessionFactory, Duration.ofSeconds(1), 2);
+        statistics.bindTo(registry);
+
+        // Parameter lists of different lengths make different queries, but they do not use up the distinct shapes
+        for (int size = 2; size < 10; size++) {
+            String parameters = IntStream.range(0, size).mapToObj(i -> ":param" + i).collect(Collectors.joining(", "));
+            statistics.queryExecuted("select p from Product p where p.id in (" + parameters + ")", 1, 1);
+        }
+        statistics.queryExecuted("select p from Product p where p.price > 10", 1, 1);
+        statistics.queryExecuted("select p from Product p where p.price > 20", 1, 1);
+        statistics.queryExecuted("select n from News n", 1, 1);
+
+        assertThat(queryCount(registry, "select p from Product p where p.id in (...)")).isEqualTo(8);
+        assertThat(queryCount(registry, "select p from Product p where p.price > ?")).isEqualTo(2);
+        assertThat(queryCount(registry, MeteredStatistics.OTHER_QUERIES)).isEqualTo(1);
+    }
+
+    private static long queryCount(MeterRegistry registry, String shape) {
+        return registry.get(MeteredStatistics.QUERY_METER_NAME).tag("query", shape).timer().count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nearcache.NearCacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NearCacheMeterBinderTest {
+
+    private static final String REGION = "com.mycompany.myapp.domain.Product";
+
+    private IMap<Object, Object> map;
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        map = mock(IMap.class, RETURNS_DEEP_STUBS);
+        when(hazelcastInstance.getMap(REGION)).thenReturn(map);
+        registry = new SimpleMeterRegistry();
+        new NearCacheMeterBinder(hazelcastInstance, List.of(REGION)).bindTo(registry);
+    }
+
+    @Test
+    void testMetersFollowTheNearCacheStatistics() {
+        NearCacheStats nearCacheStats = mock(NearCacheStats.class);
+        when(nearCacheStats.getHits()).thenReturn(3L);
+        when(nearCacheStats.getMisses()).thenReturn(1L);
+        when(nearCacheStats.getOwnedEntryCount()).thenReturn(2L);
+        when(map.getLocalMapStats().getNearCacheStats()).thenReturn(nearCacheStats);
+
+        assertThat(meter(NearCacheMeterBinder.HITS_METER_NAME).functionCounter().count()).isEqualTo(3);
+        assertThat(meter(NearCacheMeterBinder.MISSES_METER_NAME).functionCounter().count()).isEqualTo(1);
+        assertThat(meter(NearCacheMeterBinder.HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(0.75);
+        assertThat(meter(NearCacheMeterBinder.ENTRIES_METER_NAME).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testHitRatioIsZeroWithoutReads() {
+        NearCacheStats nearCacheStats = mock(NearCacheStats.class);
+        when(map.getLocalMapStats().getNearCacheStats()).thenReturn(nearCacheStats);
+
+        assertThat(meter(NearCacheMeterBinder.HIT_RATIO_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testMetersAreZeroBeforeTheNearCacheIsCreated() {
+        when(map.getLocalMapStats().getNearCacheStats()).thenReturn(null);
+
+        assertThat(meter(NearCacheMeterBinder.HITS_METER_NAME).functionCounter().count()).isZero();
+        assertThat(meter(NearCacheMeterBinder.MISSES_METER_NAME).functionCounter().count()).isZero();
+        assertThat(meter(NearCacheMeterBinder.HIT_RATIO_METER_NAME).gauge().value()).isZero();
+        assertThat(meter(NearCacheMeterBinder.ENTRIES_METER_NAME).gauge().value()).isZero();
+    }
+
+    private RequiredSearch meter(String name) {
+        return registry.get(name).tag(NearCacheMeterBinder.REGION_DIMENSION, REGION);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class StatementCountTagsContributorTest {
+
+    @Test
+    void testRangesOfStatements() {
+        assertThat(StatementCountTagsContributor.range(0)).isEqualTo("0");
+        assertThat(StatementCountTagsContributor.range(1)).isEqualTo("1");
+        assertThat(StatementCountTagsContributor.range(2)).isEqualTo("2-5");
+        assertThat(StatementCountTagsContributor.range(10)).isEqualTo("6-10");
+        assertThat(StatementCountTagsContributor.range(26)).isEqualTo("26-50");
+        assertThat(StatementCountTagsContributor.range(51)).isEqualTo("51+");
+    }
+
+    @Test
+    void testTagsEveryRequest() {
+        StatementCountTagsContributor contributor = new StatementCountTagsContributor();
+        MockHttpServletRequest counted = new MockHttpServletRequest();
+        counted.setAttribute(StatementCounter.STATEMENTS_ATTRIBUTE, 3L);
+
+        assertThat(contributor.getTags(counted, new MockHttpServletResponse(), null, null))
+            .containsExactly(Tag.of(StatementCountTagsContributor.STATEMENTS_TAG, "2-5"));
+        assertThat(contributor.getTags(new MockHttpServletRequest(), new MockHttpServletResponse(), null, null))
+            .containsExactly(Tag.of(StatementCountTagsContributor.STATEMENTS_TAG, "none"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.News;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link PooledLoSequenceGenerator}.
+ */
+@IntegrationTest
+@Transactional
+class PooledLoSequenceGeneratorIT {
+
+    @Autowired
+    private EntityManager em;
+
+    private int blockSize;
+
+    @BeforeEach
+    public void setup() {
+        blockSize =
+            em
+                .getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSetting(
+                    PooledLoSequenceGenerator.BLOCK_SIZE_SETTING,
+                    StandardConverters.INTEGER,
+                    PooledLoSequenceGenerator.DEFAULT_BLOCK_SIZE
+                );
+    }
+
+    @Test
+    void consecutiveInsertsShareOneBlock() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<Long> ids = new ArrayList<>();
+        try {
+            // Persisting only allocates the ids: the inserts wait for the flush
+            for (int i = 0; i < blockSize; i++) {
+                News news = new News().image("AAAAAAAAAA");
+                em.persist(news);
+                ids.add(news.getId());
+            }
+            // Whatever the position in the current block, as many ids as a block span at most one new block
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isEqualTo(ids.get(i - 1) + 1);
+        }
+    }
+
+    @Test
+    void sequenceIncrementIsTheBlockSize() {
+        long increment = em
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                try (
+                    PreparedStatement statement = connection.prepareStatement(
+                        "select increment from information_schema.sequences where lower(sequence_name) = 'sequence_generator'"
+                    );
+                    ResultSet resultSet = statement.executeQuery()
+                ) {
+                    assertThat(resultSet.next()).isTrue();
+                    return Long.parseLong(resultSet.getString(1));
+                }
+            });
+
+        assertThat(increment).isEqualTo(blockSize);
+    }
+}
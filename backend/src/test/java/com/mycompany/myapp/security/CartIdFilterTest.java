@@ -0,0 +1,67 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class CartIdFilterTest {
+
+    private static final String CART_ID = "0b7a1a3e-5f34-4c6f-9a2d-3d1a2c7e9f10";
+
+    private CartIdFilter cartIdFilter;
+
+    @BeforeEach
+    public void setup() {
+        cartIdFilter = new CartIdFilter();
+        SecurityContextHolder.getContext().setAuthentication(null);
+    }
+
+    @Test
+    void testCartIdFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CartIdFilter.CART_ID_HEADER, CART_ID);
+
+        cartIdFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityUtils.getCurrentUserLogin()).contains(CartIdFilter.CART_PRINCIPAL_PREFIX + CART_ID);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().isAuthenticated()).isTrue();
+        assertThat(SecurityUtils.isAuthenticated()).isFalse();
+    }
+
+    @Test
+    void testCartIdFilterInvalidCartId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CartIdFilter.CART_ID_HEADER, "user");
+
+        cartIdFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void testCartIdFilterKeepsAuthenticatedUser() throws Exception {
+        SecurityContextHolder
+            .getContext()
+            .setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                    "test-user",
+                    "test-password",
+                    Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+                )
+            );
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CartIdFilter.CART_ID_HEADER, CART_ID);
+
+        cartIdFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityUtils.getCurrentUserLogin()).contains("test-user");
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class TokenAuthenticationCacheTest {
+
+    private static final long ONE_MINUTE = 60000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private MeterRegistry meterRegistry;
+
+    private TokenAuthenticationCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TokenAuthenticationCache(2, new SecurityMetersService(meterRegistry), now::get);
+    }
+
+    @Test
+    void testReturnsCachedAuthentication() {
+        Authentication authentication = createAuthentication("token");
+        cache.put("token", authentication, now.get() + ONE_MINUTE);
+
+        Authentication cachedAuthentication = cache.get("token").orElseThrow();
+        assertThat(cachedAuthentication.getPrincipal()).isEqualTo("user");
+        assertThat(cachedAuthentication.getCredentials()).isEqualTo("token");
+        assertThat(cachedAuthentication.getAuthorities()).containsExactlyElementsOf(authentication.getAuthorities());
+        assertThat(cachedAuthentication.isAuthenticated()).isTrue();
+        assertThat(cache.get("other")).isEmpty();
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_REQUESTS_METER_NAME, "result", "hit")).isEqualTo(1);
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_REQUESTS_METER_NAME, "result", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testReturnsNewAuthenticationOnEachHit() {
+        Authentication authentication = createAuthentication("token");
+        cache.put("token", authentication, now.get() + ONE_MINUTE);
+
+        Authentication cachedAuthentication = cache.get("token").orElseThrow();
+        cachedAuthentication.setAuthenticated(false);
+
+        Authentication nextAuthentication = cache.get("token").orElseThrow();
+        assertThat(cachedAuthentication).isNotSameAs(authentication);
+        assertThat(nextAuthentication).isNotSameAs(cachedAuthentication);
+        assertThat(nextAuthentication.isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void testNeverReturnsExpiredAuthentication() {
+        cache.put("token", createAuthentication("token"), now.get() + ONE_MINUTE);
+
+        now.addAndGet(ONE_MINUTE);
+
+        assertThat(cache.get("token")).isEmpty();
+    }
+
+    @Test
+    void testEvictsExpiredEntriesFirst() {
+        cache.put("expiring", createAuthentication("expiring"), now.get() + 1);
+        cache.put("token", createAuthentication("token"), now.get() + ONE_MINUTE);
+
+        now.addAndGet(1);
+        cache.put("other", createAuthentication("other"), now.get() + ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token")).isPresent();
+        assertThat(cache.get("other")).isPresent();
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_EVICTIONS_METER_NAME, "cause", "expired")).isEqualTo(1);
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_EVICTIONS_METER_NAME, "cause", "size")).isZero();
+    }
+
+    @Test
+    void testEvictsExpiredEntriesWithDifferentValidities() {
+        cache.put("remember-me", createAuthentication("remember-me"), now.get() + 30 * 24 * 60 * ONE_MINUTE);
+        cache.put("token", createAuthentication("token"), now.get() + ONE_MINUTE);
+
+        now.addAndGet(ONE_MINUTE);
+        cache.put("other", createAuthentication("other"), now.get() + ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("remember-me")).isPresent();
+        assertThat(cache.get("other")).isPresent();
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_EVICTIONS_METER_NAME, "cause", "expired")).isEqualTo(1);
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_EVICTIONS_METER_NAME, "cause", "size")).isZero();
+    }
+
+    @Test
+    void testEvictsEntriesExpiringFirstWhenFull() {
+        cache.put("remember-me", createAuthentication("remember-me"), now.get() + 30 * 24 * 60 * ONE_MINUTE);
+        cache.put("token", createAuthentication("token"), now.get() + ONE_MINUTE);
+        cache.put("other", createAuthentication("other"), now.get() + 2 * ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.get("remember-me")).isPresent();
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_EVICTIONS_METER_NAME, "cause", "size")).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictsOldestEntriesWhenFull() {
+        cache.put("first", createAuthentication("first"), now.get() + ONE_MINUTE);
+        cache.put("second", createAuthentication("second"), now.get() + ONE_MINUTE);
+        cache.put("third", createAuthentication("third"), now.get() + ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("first")).isEmpty();
+        assertThat(cache.get("third")).isPresent();
+        assertThat(count(SecurityMetersService.TOKEN_CACHE_EVICTIONS_METER_NAME, "cause", "size")).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabledWhenMaxSizeIsZero() {
+        cache = new TokenAuthenticationCache(0, new SecurityMetersService(meterRegistry), now::get);
+        cache.put("token", createAuthentication("token"), now.get() + ONE_MINUTE);
+
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    private Authentication createAuthentication(String token) {
+        return new UsernamePasswordAuthenticationToken("user", token, List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER)));
+    }
+}
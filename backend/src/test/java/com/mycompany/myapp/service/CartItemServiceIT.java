@@ -0,0 +1,178 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.CartItem;
+import com.mycompany.myapp.domain.Product;
+import com.mycompany.myapp.repository.CartItemRepository;
+import com.mycompany.myapp.repository.ProductRepository;
+import com.mycompany.myapp.service.dto.CartDTO;
+import com.mycompany.myapp.service.dto.CartItemDTO;
+import com.mycompany.myapp.service.dto.CartOperationDTO;
+import com.mycompany.myapp.service.dto.ProductDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Integration tests for the concurrent writes of {@link CartItemService}, which commit their own transactions.
+ */
+@IntegrationTest
+class CartItemServiceIT {
+
+    private static final String LOGIN = "concurrent-user";
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        product = productRepository.saveAndFlush(new Product().title("Concurrent product").price(BigDecimal.TEN).image("image"));
+        executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+        cartItemRepository.deleteAll(cartItemRepository.findAllByLoginOrderById(LOGIN));
+        productRepository.deleteById(product.getId());
+    }
+
+    @Test
+    void concurrentAdditionsOfProductAreNotLost() throws Exception {
+        CartItemDTO cartItemDTO = new CartItemDTO();
+        cartItemDTO.setProduct(new ProductDTO());
+        cartItemDTO.getProduct().setId(product.getId());
+        cartItemDTO.setQuantity(1);
+
+        int added = countSuccesses(() -> cartItemService.save(cartItemDTO));
+
+        // The first addition may race with the others to insert the line: the losers fail cleanly, and none is lost
+        List<CartItem> lines = cartItemRepository.findAllByLoginOrderById(LOGIN);
+        assertThat(added).isPositive();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).getQuantity()).isEqualTo(added);
+    }
+
+    @Test
+    void concurrentBatchesAreNotLost() throws Exception {
+        cartItemRepository.saveAndFlush(new CartItem().login(LOGIN).product(product).quantity(1));
+
+        int applied = countSuccesses(() -> cartItemService.applyOperations(null, List.of(addOneOperation())));
+
+        // Each batch locks the cart, so the batches are applied one after the other and none is lost
+        List<CartItem> lines = cartItemRepository.findAllByLoginOrderById(LOGIN);
+        assertThat(applied).isPositive();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).getQuantity()).isEqualTo(1 + applied);
+    }
+
+    @Test
+    void concurrentBatchesOnEmptyCartAreAllApplied() throws Exception {
+        int applied = countSuccesses(() -> cartItemService.applyOperations(null, List.of(addOneOperation())));
+
+        // The cart is locked even though it has no line to lock yet, so no batch races to insert the line
+        List<CartItem> lines = cartItemRepository.findAllByLoginOrderById(LOGIN);
+        assertThat(applied).isEqualTo(CONCURRENT_REQUESTS);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).getQuantity()).isEqualTo(CONCURRENT_REQUESTS);
+    }
+
+    @Test
+    void additionsAreCappedAtMaximumQuantity() {
+        cartItemRepository.saveAndFlush(new CartItem().login(LOGIN).product(product).quantity(CartOperationDTO.MAX_QUANTITY));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(LOGIN, null, List.of()));
+        try {
+            CartDTO cart = cartItemService.applyOperations(null, List.of(addOneOperation())).orElseThrow();
+
+            assertThat(cart.getItems()).extracting(CartItemDTO::getQuantity).containsExactly(CartOperationDTO.MAX_QUANTITY);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void retriedBatchIsAppliedOnce() {
+        UUID batchId = UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(LOGIN, null, List.of()));
+        try {
+            CartDTO cart = cartItemService.applyOperations(batchId, List.of(addOneOperation())).orElseThrow();
+            CartDTO retriedCart = cartItemService.applyOperations(batchId, List.of(addOneOperation())).orElseThrow();
+
+            assertThat(cart.getItems()).extracting(CartItemDTO::getQuantity).containsExactly(1);
+            assertThat(retriedCart.getItems()).extracting(CartItemDTO::getQuantity).containsExactly(1);
+            assertThat(cartItemService.applyOperations(UUID.randomUUID(), List.of(addOneOperation())).orElseThrow().getItems())
+                .extracting(CartItemDTO::getQuantity)
+                .containsExactly(2);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private CartOperationDTO addOneOperation() {
+        CartOperationDTO operation = new CartOperationDTO();
+        operation.setType(CartOperationDTO.Type.ADD);
+        operation.setProductId(product.getId());
+        operation.setQuantity(1);
+        return operation;
+    }
+
+    /**
+     * Run the task concurrently as {@link #LOGIN}, and count the successes: the only failures allowed are conflicts.
+     */
+    private int countSuccesses(Callable<?> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(
+                executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(LOGIN, null, List.of()));
+                    try {
+                        start.await();
+                        task.call();
+                        return true;
+                    } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                        return false;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                })
+            );
+        }
+        start.countDown();
+        int successes = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                successes++;
+            }
+        }
+        return successes;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Product;
+import com.mycompany.myapp.service.criteria.ProductCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Measures the conversion of the criteria of {@code GET /api/products} to a {@link Specification}, done on every
+ * request before any query.
+ * <p>
+ * Run it with the {@link #main(String[])} method, from the test classpath, or with the "benchmark" Maven profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductQueryServiceBenchmark {
+
+    private ProductQueryService productQueryService;
+
+    private ProductCriteria emptyCriteria;
+
+    private ProductCriteria criteria;
+
+    @Setup
+    public void setup() {
+        // Only the specification is built, no repository nor mapper is used
+        productQueryService = new ProductQueryService(null, null, null, null, new SimpleMeterRegistry());
+        emptyCriteria = new ProductCriteria();
+        criteria = new ProductCriteria();
+        criteria.title().setContains("phone");
+        criteria.price().setGreaterThanOrEqual(BigDecimal.TEN);
+        criteria.price().setLessThan(new BigDecimal(100));
+        criteria.image().setSpecified(true);
+    }
+
+    @Benchmark
+    public Specification<Product> createEmptySpecification() {
+        return productQueryService.createSpecification(emptyCriteria);
+    }
+
+    @Benchmark
+    public Specification<Product> createSpecification() {
+        return productQueryService.createSpecification(criteria);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductQueryServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,146 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.CartItem;
+import com.mycompany.myapp.domain.Product;
+import com.mycompany.myapp.repository.ProductRepository;
+import com.mycompany.myapp.service.criteria.CartItemCriteria;
+import com.mycompany.myapp.service.criteria.ProductCriteria;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking, with {@code EXPLAIN}, that the criteria queries run by the query services can use the
+ * indexes created for them.
+ * <p>
+ * The plans are only checked on PostgreSQL, which runs these tests with the "testcontainers" profile. Sequential scans
+ * are disabled, as the planner would otherwise prefer them on the small tables of the tests.
+ */
+@IntegrationTest
+@Transactional
+class QueryServiceIndexesIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductQueryService productQueryService;
+
+    @Autowired
+    private CartItemQueryService cartItemQueryService;
+
+    @BeforeEach
+    public void disableSequentialScans() {
+        Session session = em.unwrap(Session.class);
+        String databaseProductName = session.doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        assumeTrue("PostgreSQL".equals(databaseProductName), "Query plans are only checked on PostgreSQL");
+        session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local enable_seqscan = off");
+            }
+        });
+    }
+
+    @Test
+    void productTitleContainsFoundInTitleIndexUsesAnIndex() {
+        productRepository.saveAndFlush(new Product().title("AAAAAAAAAA").price(BigDecimal.ONE).image("AAAAAAAAAA"));
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.title().setContains("AAA");
+
+        // The database only filters the products found in the title index, by id
+        assertThat(explainIndexed(criteria)).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void productTitleContainsLeftToTheDatabaseUsesTrigramIndex() {
+        ProductCriteria criteria = new ProductCriteria();
+        // Wildcards are not looked up in the title index
+        criteria.title().setContains("AAA_BBB");
+
+        assertThat(explainIndexed(criteria)).contains("idx_product__title_trgm");
+    }
+
+    @Test
+    void productPriceRangeUsesPriceIndex() {
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.price().setGreaterThanOrEqual(BigDecimal.ONE);
+        criteria.price().setLessThan(BigDecimal.TEN);
+
+        assertThat(explainIndexed(criteria)).contains("idx_product__price");
+    }
+
+    @Test
+    void cartItemProductIdUsesProductIdIndex() {
+        CartItemCriteria criteria = new CartItemCriteria();
+        criteria.productId().setEquals(1L);
+
+        assertThat(explain(CartItem.class, cartItemQueryService.createSpecification(criteria))).contains("idx_cart_item__product_id");
+    }
+
+    /**
+     * Explain the product specification which {@link ProductQueryService#findByCriteria} runs, after its title lookup.
+     */
+    private String explainIndexed(ProductCriteria criteria) {
+        Specification<Product> specification = productQueryService
+            .createIndexedSpecification(criteria)
+            .orElseThrow(() -> new IllegalStateException("The title index found no matching product"));
+        return explain(Product.class, specification);
+    }
+
+    /**
+     * Translate the specification to SQL the way Hibernate runs it, and return its plan.
+     */
+    private <T> String explain(Class<T> entityClass, Specification<T> specification) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = builder.createQuery(entityClass);
+        Root<T> root = criteriaQuery.from(entityClass);
+        criteriaQuery.where(specification.toPredicate(root, criteriaQuery, builder));
+        TypedQuery<T> query = em.createQuery(criteriaQuery);
+
+        String hql = query.unwrap(org.hibernate.query.Query.class).getQueryString();
+        SessionFactoryImplementor sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        String sql = sessionFactory.getQueryPlanCache().getHQLQueryPlan(hql, false, Collections.emptyMap()).getSqlStrings()[0];
+        // Numeric literals are inlined, so the queries above bind at most one parameter
+        List<Object> parameters = query.getParameters().stream().map(query::getParameterValue).collect(Collectors.toList());
+
+        return em
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        statement.setObject(i + 1, parameters.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            plan.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                }
+                return plan.toString();
+            });
+    }
+}
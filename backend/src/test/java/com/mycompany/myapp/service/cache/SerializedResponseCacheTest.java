@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.News;
+import com.mycompany.myapp.domain.Product;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SerializedResponseCacheTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private SerializedResponseCache cache;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getResponseCache().setMaxBytes(10);
+        applicationProperties.getCache().getResponseCache().setMaxEntryBytes(6);
+        cache = new SerializedResponseCache(applicationProperties);
+    }
+
+    @Test
+    void testReturnsBodyOfSameVersion() {
+        cache.put(Product.class, "1", 1, Map.of("X-Total-Count", List.of("1")), bytes("{}"));
+
+        assertThat(cache.get(Product.class, "1", 1)).hasValueSatisfying(response -> {
+            assertThat(string(response.getBody())).isEqualTo("{}");
+            assertThat(string(response.getBody())).isEqualTo("{}");
+            assertThat(response.getHeaders()).containsEntry("X-Total-Count", List.of("1"));
+        });
+        assertThat(cache.get(Product.class, "1", 2)).isEmpty();
+        assertThat(cache.get(News.class, "1", 1)).isEmpty();
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedBodiesWhenFull() {
+        cache.put(Product.class, "1", 1, Collections.emptyMap(), bytes("1111"));
+        cache.put(Product.class, "2", 1, Collections.emptyMap(), bytes("2222"));
+        cache.get(Product.class, "1", 1);
+        cache.put(Product.class, "3", 1, Collections.emptyMap(), bytes("3333"));
+
+        assertThat(cache.get(Product.class, "1", 1)).isPresent();
+        assertThat(cache.get(Product.class, "2", 1)).isEmpty();
+        assertThat(cache.get(Product.class, "3", 1)).isPresent();
+        assertThat(cache.size()).isEqualTo(8);
+    }
+
+    @Test
+    void testSkipsLargeBodies() {
+        cache.put(Product.class, "1", 1, Collections.emptyMap(), bytes("1234567"));
+
+        assertThat(cache.get(Product.class, "1", 1)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testEvictsWithoutTransaction() {
+        cache.put(Product.class, "1", 1, Collections.emptyMap(), bytes("1"));
+        cache.put(Product.class, "2", 1, Collections.emptyMap(), bytes("2"));
+        cache.put(News.class, "1", 1, Collections.emptyMap(), bytes("1"));
+        cache.put(News.class, "2", 1, Collections.emptyMap(), bytes("2"));
+
+        cache.evictAfterCommit(Product.class, "1");
+        cache.evictAllAfterCommit(News.class);
+
+        assertThat(cache.get(Product.class, "1", 1)).isEmpty();
+        assertThat(cache.get(Product.class, "2", 1)).isPresent();
+        assertThat(cache.get(News.class, "1", 1)).isEmpty();
+        assertThat(cache.get(News.class, "2", 1)).isEmpty();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabled() {
+        applicationProperties.getCache().getResponseCache().setEnabled(false);
+        cache.put(Product.class, "1", 1, Collections.emptyMap(), bytes("{}"));
+
+        assertThat(cache.get(Product.class, "1", 1)).isEmpty();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package com.mycompany.myapp.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 4;
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight<Long, String> singleFlight;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(
+                executor.submit(() ->
+                    inReadOnlyTransaction(() ->
+                        singleFlight.load(
+                            1L,
+                            () -> {
+                                loads.incrementAndGet();
+                                await(release);
+                                return "value";
+                            }
+                        )
+                    )
+                )
+            );
+        }
+        waitForWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get(SingleFlight.LOADS_METER_NAME).tag(SingleFlight.NAME_DIMENSION, "test").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(SingleFlight.COALESCED_METER_NAME).tag(SingleFlight.NAME_DIMENSION, "test").counter().count())
+            .isEqualTo(CALLERS - 1);
+        assertThat(waiters()).isZero();
+    }
+
+    @Test
+    void testWaitersGetTheLoadException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() ->
+            inReadOnlyTransaction(() ->
+                singleFlight.load(
+                    1L,
+                    () -> {
+                        started.countDown();
+                        await(release);
+                        throw new IllegalStateException("failed");
+                    }
+                )
+            )
+        );
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> waiter = executor.submit(() -> inReadOnlyTransaction(() -> singleFlight.load(1L, () -> "unused")));
+        waitForWaiters(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(inReadOnlyTransaction(() -> singleFlight.load(1L, () -> "reloaded"))).isEqualTo("reloaded");
+    }
+
+    @Test
+    void testCallersAfterWriteDoNotJoinLoadStartedBefore() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Reads the value before the write commits, and is still in flight when the version changes
+        Future<String> beforeWrite = executor.submit(() ->
+            inReadOnlyTransaction(() ->
+                singleFlight.load(
+                    1L,
+                    1L,
+                    () -> {
+                        started.countDown();
+                        await(release);
+                        return "before write";
+                    }
+                )
+            )
+        );
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> sameVersion = executor.submit(() -> inReadOnlyTransaction(() -> singleFlight.load(1L, 1L, () -> "unused")));
+        waitForWaiters(1);
+
+        // The write commits, and changes the version read by the next callers
+        String afterWrite = inReadOnlyTransaction(() -> singleFlight.load(1L, 2L, () -> "after write"));
+        release.countDown();
+
+        assertThat(afterWrite).isEqualTo("after write");
+        assertThat(beforeWrite.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(sameVersion.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(meterRegistry.get(SingleFlight.LOADS_METER_NAME).tag(SingleFlight.NAME_DIMENSION, "test").counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testLoadsAreNotSharedOutsideOfReadOnlyTransactions() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load(1L, () -> String.valueOf(loads.incrementAndGet()));
+        singleFlight.load(1L, () -> String.valueOf(loads.incrementAndGet()));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get(SingleFlight.LOADS_METER_NAME).counter().count()).isZero();
+    }
+
+    private void waitForWaiters(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (waiters() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(waiters()).isEqualTo(count);
+    }
+
+    private double waiters() {
+        return meterRegistry.get(SingleFlight.WAITERS_METER_NAME).gauge().value();
+    }
+
+    private static String inReadOnlyTransaction(Supplier<String> action) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return action.get();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
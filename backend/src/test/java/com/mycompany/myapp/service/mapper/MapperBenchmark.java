@@ -0,0 +1,65 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.CartItem;
+import com.mycompany.myapp.domain.Product;
+import com.mycompany.myapp.service.dto.CartItemDTO;
+import com.mycompany.myapp.service.dto.ProductDTO;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the entity to DTO mapping done for every product and cart line returned by the REST API.
+ * <p>
+ * Run it with the {@link #main(String[])} method, from the test classpath, or with the "benchmark" Maven profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ProductMapper productMapper;
+
+    private CartItemMapper cartItemMapper;
+
+    private Product product;
+
+    private CartItem cartItem;
+
+    @Setup
+    public void setup() {
+        productMapper = new ProductMapperImpl();
+        cartItemMapper = new CartItemMapperImpl();
+        product = new Product().id(1L).title("Product").price(new BigDecimal("19.99")).image("https://example.com/product.png");
+        cartItem = new CartItem().id(2L).login("user").quantity(3).product(product);
+    }
+
+    @Benchmark
+    public ProductDTO productToDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public CartItemDTO cartItemToDto() {
+        return cartItemMapper.toDto(cartItem);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.ProductRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+class ProductTitleIndexTest {
+
+    private ProductRepository productRepository;
+
+    private TaskScheduler taskScheduler;
+
+    private ProductTitleIndex productTitleIndex;
+
+    @BeforeEach
+    public void setup() {
+        productRepository = mock(ProductRepository.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(mock(ITopic.class)).when(hazelcastInstance).getTopic(anyString());
+        taskScheduler = mock(TaskScheduler.class);
+        productTitleIndex = new ProductTitleIndex(productRepository, hazelcastInstance, taskScheduler, new ApplicationProperties());
+    }
+
+    @Test
+    void testRenameDuringLoadIsNotOverwritten() {
+        List<ProductRepository.ProductTitle> loadedTitles = List.of(title(1L, "Old title"), title(2L, "Other product"));
+        when(productRepository.findAllTitles())
+            .thenAnswer(invocation -> {
+                // The rename commits after the titles were read, but before they are indexed
+                productTitleIndex.titleCommitted(1L, "New title");
+                return loadedTitles;
+            });
+
+        assertThat(productTitleIndex.findIdsByTitleContaining("new")).contains(Set.of(1L));
+        assertThat(productTitleIndex.findIdsByTitleContaining("old")).contains(Set.of());
+        assertThat(productTitleIndex.suggest("", 10)).containsExactly("New title", "Other product");
+    }
+
+    @Test
+    void testDeletionDuringLoadIsNotOverwritten() {
+        List<ProductRepository.ProductTitle> loadedTitles = List.of(title(1L, "Old title"), title(2L, "Other product"));
+        when(productRepository.findAllTitles())
+            .thenAnswer(invocation -> {
+                productTitleIndex.deletionCommitted(1L);
+                return loadedTitles;
+            });
+
+        assertThat(productTitleIndex.findIdsByTitleContaining("title")).contains(Set.of());
+        assertThat(productTitleIndex.suggest("", 10)).containsExactly("Other product");
+    }
+
+    @Test
+    void testUncommittedTitlesAreNotSuggested() {
+        when(productRepository.findAllTitles()).thenReturn(List.of(title(1L, "Old title")));
+        assertThat(productTitleIndex.suggest("", 10)).containsExactly("Old title");
+
+        productTitleIndex.indexUncommitted(1L, "New title");
+        productTitleIndex.indexUncommitted(2L, "New product");
+
+        assertThat(productTitleIndex.findIdsByTitleContaining("new")).contains(Set.of(1L, 2L));
+        assertThat(productTitleIndex.suggest("", 10)).containsExactly("Old title");
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        productTitleIndex.discardUncommitted(1L);
+        productTitleIndex.discardUncommitted(2L);
+
+        assertThat(productTitleIndex.findIdsByTitleContaining("title")).contains(Set.of(1L));
+        assertThat(productTitleIndex.findIdsByTitleContaining("new")).contains(Set.of());
+    }
+
+    @Test
+    void testCommittedTitlesAreSuggestedAfterTheBackgroundRebuild() {
+        when(productRepository.findAllTitles()).thenReturn(List.of(title(1L, "Old title")));
+        assertThat(productTitleIndex.suggest("", 10)).containsExactly("Old title");
+
+        productTitleIndex.titleCommitted(1L, "New title");
+        productTitleIndex.titleCommitted(2L, "New product");
+
+        // Both changes are picked up by a single rebuild, and suggestions are not rebuilt on the calling thread
+        ArgumentCaptor<Runnable> rebuild = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(rebuild.capture(), any(Instant.class));
+        assertThat(productTitleIndex.suggest("", 10)).containsExactly("Old title");
+
+        rebuild.getValue().run();
+
+        assertThat(productTitleIndex.suggest("new", 10)).containsExactly("New product", "New title");
+        assertThat(productTitleIndex.suggest("old", 10)).isEmpty();
+    }
+
+    private static ProductRepository.ProductTitle title(Long id, String title) {
+        ProductRepository.ProductTitle productTitle = mock(ProductRepository.ProductTitle.class);
+        when(productTitle.getId()).thenReturn(id);
+        when(productTitle.getTitle()).thenReturn(title);
+        return productTitle;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TitleTrieTest {
+
+    private TitleTrie trie;
+
+    @BeforeEach
+    public void setUp() {
+        trie = TitleTrie.build(Arrays.asList("Mouse", "Monitor", "Mouse Pad", "monitor", "Keyboard", "Mo"), 10);
+    }
+
+    @Test
+    void suggestReturnsTitlesStartingWithPrefixIgnoringCase() {
+        assertThat(trie.suggest("mo", 10)).containsExactly("Mo", "Mouse", "Monitor", "Mouse Pad");
+        assertThat(trie.suggest("MOUSE", 10)).containsExactly("Mouse", "Mouse Pad");
+        assertThat(trie.suggest("k", 10)).containsExactly("Keyboard");
+    }
+
+    @Test
+    void suggestHonorsLimit() {
+        assertThat(trie.suggest("m", 2)).containsExactly("Mo", "Mouse");
+    }
+
+    @Test
+    void suggestRanksShortestTitlesFirst() {
+        trie = TitleTrie.build(Arrays.asList("Laptop stand", "Lamp shade", "Laptop", "Lamp", "Lantern"), 10);
+
+        assertThat(trie.suggest("la", 3)).containsExactly("Lamp", "Laptop", "Lantern");
+        assertThat(trie.suggest("lap", 10)).containsExactly("Laptop", "Laptop stand");
+        assertThat(trie.suggest("lamp ", 10)).containsExactly("Lamp shade");
+    }
+
+    @Test
+    void suggestReturnsAtMostMaxSuggestions() {
+        trie = TitleTrie.build(Arrays.asList("Mouse", "Monitor", "Mouse Pad", "Keyboard", "Mo"), 2);
+
+        assertThat(trie.suggest("m", 10)).containsExactly("Mo", "Mouse");
+        assertThat(trie.suggest("mouse", 10)).containsExactly("Mouse", "Mouse Pad");
+        assertThat(trie.suggest("", 10)).containsExactly("Mo", "Mouse");
+    }
+
+    @Test
+    void suggestWithEmptyPrefixReturnsAllTitles() {
+        assertThat(trie.suggest("", 10)).hasSize(5);
+        assertThat(trie.size()).isEqualTo(5);
+    }
+
+    @Test
+    void suggestUnknownPrefix() {
+        assertThat(trie.suggest("x", 10)).isEmpty();
+        assertThat(trie.suggest("mousepad", 10)).isEmpty();
+        assertThat(TitleTrie.EMPTY.suggest("m", 10)).isEmpty();
+    }
+}
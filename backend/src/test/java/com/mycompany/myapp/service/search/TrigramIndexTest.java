@@ -0,0 +1,55 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Graphics Card");
+        index.put(2L, "Sound Card");
+        index.put(3L, "Keyboard");
+    }
+
+    @Test
+    void findContainingIgnoresCase() {
+        assertThat(index.findContaining("card")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.findContaining("GRAPH")).containsExactly(1L);
+    }
+
+    @Test
+    void findContainingVerifiesCandidates() {
+        // every trigram of "cards" is indexed, but no title contains it
+        index.put(4L, "Boards");
+        assertThat(index.findContaining("ards")).containsExactly(4L);
+        assertThat(index.findContaining("cards")).isEmpty();
+    }
+
+    @Test
+    void findContainingShortFragment() {
+        assertThat(index.findContaining("k")).containsExactlyInAnyOrder(3L);
+        assertThat(index.findContaining("d")).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void putReplacesPreviousText() {
+        index.put(2L, "Speaker");
+        assertThat(index.findContaining("card")).containsExactly(1L);
+        assertThat(index.findContaining("speak")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removeDropsEntity() {
+        index.remove(1L);
+        assertThat(index.findContaining("card")).containsExactly(2L);
+        assertThat(index.findContaining("graph")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestBulkheadFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RequestBulkheadFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestBulkheadFilter(1, Duration.ofMillis(10), meterRegistry);
+    }
+
+    @Test
+    void testRejectsRequestsAboveLimit() throws Exception {
+        MockHttpServletResponse concurrentResponse = new MockHttpServletResponse();
+        AtomicInteger handled = new AtomicInteger();
+
+        filter.doFilter(
+            new MockHttpServletRequest(),
+            new MockHttpServletResponse(),
+            (request, response) -> {
+                handled.incrementAndGet();
+                assertThat(availablePermits()).isZero();
+                filter.doFilter(new MockHttpServletRequest(), concurrentResponse, (other, otherResponse) -> handled.incrementAndGet());
+            }
+        );
+
+        assertThat(handled).hasValue(1);
+        assertThat(concurrentResponse.getStatus()).isEqualTo(503);
+        assertThat(concurrentResponse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get(RequestBulkheadFilter.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReleasesPermitWhenRequestFails() throws Exception {
+        try {
+            filter.doFilter(
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new IllegalStateException("failed");
+                }
+            );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertThat(availablePermits()).isEqualTo(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, (other, otherResponse) -> {});
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private double availablePermits() {
+        return meterRegistry.get(RequestBulkheadFilter.AVAILABLE_METER_NAME).gauge().value();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.management.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import javax.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class StatementCountFilterTest {
+
+    private static final Map<String, Integer> BUDGETS = Map.of("GET /api/cart", 1);
+
+    private MeterRegistry meterRegistry;
+
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        statementCounter = new StatementCounter();
+    }
+
+    @Test
+    void testRecordsStatementsOfRequest() throws Exception {
+        StatementCountFilter filter = new StatementCountFilter(statementCounter, 10, BUDGETS, true, meterRegistry);
+        MockHttpServletRequest request = createRequest("/api/products");
+
+        filter.doFilter(request, new MockHttpServletResponse(), prepareStatements(2));
+        statementCounter.inspect("select 1");
+
+        assertThat(request.getAttribute(StatementCounter.STATEMENTS_ATTRIBUTE)).isEqualTo(2L);
+        assertThat(meterRegistry.get(StatementCountFilter.STATEMENTS_METER_NAME).summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(StatementCountFilter.STATEMENTS_METER_NAME).summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.find(StatementCountFilter.OVER_BUDGET_METER_NAME).counter()).isNull();
+    }
+
+    @Test
+    void testCountsRequestsAboveEndpointBudget() throws Exception {
+        StatementCountFilter filter = new StatementCountFilter(statementCounter, 10, BUDGETS, false, meterRegistry);
+
+        filter.doFilter(createRequest("/api/cart"), new MockHttpServletResponse(), prepareStatements(2));
+
+        assertThat(meterRegistry.get(StatementCountFilter.OVER_BUDGET_METER_NAME).tag("uri", "/api/cart").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testFailsRequestsAboveBudgetInStrictMode() {
+        StatementCountFilter filter = new StatementCountFilter(statementCounter, 1, BUDGETS, true, meterRegistry);
+
+        assertThatThrownBy(() -> filter.doFilter(createRequest("/api/products"), new MockHttpServletResponse(), prepareStatements(2)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("GET /api/products prepared 2 SQL statements");
+    }
+
+    @Test
+    void testIgnoresBudgetOfRequestsWithoutHandler() throws Exception {
+        StatementCountFilter filter = new StatementCountFilter(statementCounter, 0, BUDGETS, true, meterRegistry);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/unknown"), new MockHttpServletResponse(), prepareStatements(1));
+
+        assertThat(meterRegistry.get(StatementCountFilter.STATEMENTS_METER_NAME).summary().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest createRequest(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private FilterChain prepareStatements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                statementCounter.inspect("select " + i);
+            }
+        };
+    }
+}
@@ -1,7 +1,9 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static com.mycompany.myapp.web.rest.TestUtil.sameNumber;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -9,20 +11,30 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.CartItem;
 import com.mycompany.myapp.domain.Product;
 import com.mycompany.myapp.repository.CartItemRepository;
+import com.mycompany.myapp.security.CartIdFilter;
 import com.mycompany.myapp.service.criteria.CartItemCriteria;
+import com.mycompany.myapp.service.dto.CartBatchDTO;
 import com.mycompany.myapp.service.dto.CartItemDTO;
+import com.mycompany.myapp.service.dto.CartOperationDTO;
 import com.mycompany.myapp.service.mapper.CartItemMapper;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -33,8 +45,16 @@ import org.springframework.transaction.annotation.Transactional;
 @WithMockUser
 class CartItemResourceIT {
 
+    private static final String DEFAULT_LOGIN = "user";
+    private static final String OTHER_LOGIN = "other";
+
+    private static final Integer DEFAULT_QUANTITY = 1;
+    private static final Integer UPDATED_QUANTITY = 2;
+
     private static final String ENTITY_API_URL = "/api/cart-items";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String BATCH_API_URL = ENTITY_API_URL + "/_batch";
+    private static final String CART_API_URL = "/api/cart";
 
     private static Random random = new Random();
     private static AtomicLong count = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -48,6 +68,9 @@ class CartItemResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private MockMvc restCartItemMockMvc;
 
@@ -60,7 +83,7 @@ class CartItemResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static CartItem createEntity(EntityManager em) {
-        CartItem cartItem = new CartItem();
+        CartItem cartItem = new CartItem().login(DEFAULT_LOGIN).quantity(DEFAULT_QUANTITY);
 
         Product product;
         if (TestUtil.findAll(em, Product.class).isEmpty()) {
@@ -92,6 +115,42 @@ class CartItemResourceIT {
         List<CartItem> cartItemList = cartItemRepository.findAll();
         assertThat(cartItemList).hasSize(databaseSizeBeforeCreate + 1);
         CartItem testCartItem = cartItemList.get(cartItemList.size() - 1);
+        assertThat(testCartItem.getLogin()).isEqualTo(DEFAULT_LOGIN);
+        assertThat(testCartItem.getQuantity()).isEqualTo(DEFAULT_QUANTITY);
+    }
+
+    @Test
+    @Transactional
+    void createCartItemForProductAlreadyInCart() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+        int databaseSizeBeforeCreate = cartItemRepository.findAll().size();
+
+        CartItemDTO cartItemDTO = cartItemMapper.toDto(cartItem);
+        cartItemDTO.setId(null);
+        restCartItemMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartItemDTO)))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LOCATION))
+            .andExpect(jsonPath("$.id").value(cartItem.getId().intValue()))
+            .andExpect(jsonPath("$.quantity").value(DEFAULT_QUANTITY + DEFAULT_QUANTITY));
+
+        List<CartItem> cartItemList = cartItemRepository.findAll();
+        assertThat(cartItemList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createCartItemWithoutProduct() throws Exception {
+        int databaseSizeBeforeCreate = cartItemRepository.findAll().size();
+
+        CartItemDTO cartItemDTO = cartItemMapper.toDto(cartItem);
+        cartItemDTO.setProduct(null);
+        restCartItemMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartItemDTO)))
+            .andExpect(status().isBadRequest());
+
+        List<CartItem> cartItemList = cartItemRepository.findAll();
+        assertThat(cartItemList).hasSize(databaseSizeBeforeCreate);
     }
 
     @Test
@@ -119,7 +178,140 @@ class CartItemResourceIT {
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(cartItem.getId().intValue())));
+            .andExpect(jsonPath("$.[*].id").value(hasItem(cartItem.getId().intValue())))
+            .andExpect(jsonPath("$.[*].quantity").value(hasItem(DEFAULT_QUANTITY)));
+    }
+
+    @Test
+    @Transactional
+    void getAllCartItemsWithProductsInOneStatement() throws Exception {
+        saveCartItemsWithDistinctProducts(3);
+
+        // The page is smaller than the page size, so no count query is needed either
+        assertThat(countStatements(get(ENTITY_API_URL + "?sort=id,desc"))).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void getCartWithProductsInOneStatement() throws Exception {
+        saveCartItemsWithDistinctProducts(3);
+
+        assertThat(countStatements(get(CART_API_URL))).isEqualTo(1);
+    }
+
+    private void saveCartItemsWithDistinctProducts(int count) {
+        for (int i = 0; i < count; i++) {
+            Product product = ProductResourceIT.createEntity(em);
+            em.persist(product);
+            cartItemRepository.save(new CartItem().login(DEFAULT_LOGIN).quantity(DEFAULT_QUANTITY).product(product));
+        }
+        em.flush();
+        // Detach everything, so that the products have to be loaded again
+        em.clear();
+    }
+
+    /**
+     * Performs the request, and returns the number of JDBC statements prepared by Hibernate meanwhile.
+     */
+    private long countStatements(RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restCartItemMockMvc.perform(request).andExpect(status().isOk()).andExpect(jsonPath("$..product.title").isNotEmpty());
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllCartItemsOfAnotherUser() throws Exception {
+        cartItem.setLogin(OTHER_LOGIN);
+        cartItemRepository.saveAndFlush(cartItem);
+
+        restCartItemMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(cartItem.getId().intValue()))));
+        restCartItemMockMvc.perform(get(ENTITY_API_URL_ID, cartItem.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void exportCartItems() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+        CartItem otherCartItem = cartItemRepository.saveAndFlush(
+            new CartItem().login(OTHER_LOGIN).quantity(DEFAULT_QUANTITY).product(cartItem.getProduct())
+        );
+
+        String content = restCartItemMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<CartItemDTO> exported = TestUtil.readNdjson(content, CartItemDTO.class);
+        assertThat(exported).extracting(CartItemDTO::getId).contains(cartItem.getId()).doesNotContain(otherCartItem.getId());
+        assertThat(exported).extracting(exportedCartItem -> exportedCartItem.getProduct().getTitle()).doesNotContainNull();
+    }
+
+    @Test
+    @Transactional
+    @WithUnauthenticatedMockUser
+    void getAllCartItemsUnauthenticated() throws Exception {
+        restCartItemMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isUnauthorized());
+        restCartItemMockMvc.perform(get(CART_API_URL)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Transactional
+    @WithUnauthenticatedMockUser
+    void getCartOfAnonymousCartId() throws Exception {
+        String cartId = UUID.randomUUID().toString();
+        cartItem.setLogin(CartIdFilter.CART_PRINCIPAL_PREFIX + cartId);
+        cartItemRepository.saveAndFlush(cartItem);
+
+        restCartItemMockMvc
+            .perform(get(CART_API_URL).header(CartIdFilter.CART_ID_HEADER, cartId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.[*].id").value(hasItem(cartItem.getId().intValue())));
+        restCartItemMockMvc
+            .perform(get(CART_API_URL).header(CartIdFilter.CART_ID_HEADER, UUID.randomUUID().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getCart() throws Exception {
+        cartItem.setQuantity(UPDATED_QUANTITY);
+        cartItemRepository.saveAndFlush(cartItem);
+        BigDecimal total = cartItem.getProduct().getPrice().multiply(BigDecimal.valueOf(UPDATED_QUANTITY));
+
+        restCartItemMockMvc
+            .perform(get(CART_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.items.[*].id").value(hasItem(cartItem.getId().intValue())))
+            .andExpect(jsonPath("$.items.[*].quantity").value(hasItem(UPDATED_QUANTITY)))
+            .andExpect(jsonPath("$.total").value(sameNumber(total)));
+    }
+
+    @Test
+    @Transactional
+    void getCartWithoutItemsOfAnotherUser() throws Exception {
+        cartItem.setLogin(OTHER_LOGIN);
+        cartItemRepository.saveAndFlush(cartItem);
+
+        restCartItemMockMvc
+            .perform(get(CART_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isEmpty())
+            .andExpect(jsonPath("$.total").value(sameNumber(BigDecimal.ZERO)));
     }
 
     @Test
@@ -211,6 +403,7 @@ class CartItemResourceIT {
 
         CartItem updatedCartItem = cartItemRepository.findById(cartItem.getId()).get();
         em.detach(updatedCartItem);
+        updatedCartItem.quantity(UPDATED_QUANTITY);
         CartItemDTO cartItemDTO = cartItemMapper.toDto(updatedCartItem);
 
         restCartItemMockMvc
@@ -224,6 +417,51 @@ class CartItemResourceIT {
         List<CartItem> cartItemList = cartItemRepository.findAll();
         assertThat(cartItemList).hasSize(databaseSizeBeforeUpdate);
         CartItem testCartItem = cartItemList.get(cartItemList.size() - 1);
+        assertThat(testCartItem.getQuantity()).isEqualTo(UPDATED_QUANTITY);
+    }
+
+    @Test
+    @Transactional
+    void putCartItemOnProductAlreadyInCart() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+        Product otherProduct = ProductResourceIT.createEntity(em);
+        em.persist(otherProduct);
+        CartItem otherCartItem = cartItemRepository.saveAndFlush(
+            new CartItem().login(DEFAULT_LOGIN).quantity(DEFAULT_QUANTITY).product(otherProduct)
+        );
+
+        CartItemDTO cartItemDTO = cartItemMapper.toDto(otherCartItem);
+        cartItemDTO.setProduct(cartItemMapper.toDto(cartItem).getProduct());
+
+        restCartItemMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, cartItemDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(cartItemDTO))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(cartItemRepository.findById(otherCartItem.getId()).get().getProduct().getId()).isEqualTo(otherProduct.getId());
+    }
+
+    @Test
+    @Transactional
+    void putCartItemOfAnotherUser() throws Exception {
+        cartItem.setLogin(OTHER_LOGIN);
+        cartItemRepository.saveAndFlush(cartItem);
+
+        CartItemDTO cartItemDTO = cartItemMapper.toDto(cartItem);
+        cartItemDTO.setQuantity(UPDATED_QUANTITY);
+
+        restCartItemMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, cartItemDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(cartItemDTO))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(cartItemRepository.findById(cartItem.getId()).get().getQuantity()).isEqualTo(DEFAULT_QUANTITY);
     }
 
     @Test
@@ -296,4 +534,154 @@ class CartItemResourceIT {
         List<CartItem> cartItemList = cartItemRepository.findAll();
         assertThat(cartItemList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void applyCartOperations() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+        Product otherProduct = ProductResourceIT.createEntity(em);
+        em.persist(otherProduct);
+        em.flush();
+        int databaseSizeBeforeBatch = cartItemRepository.findAll().size();
+        BigDecimal total = cartItem
+            .getProduct()
+            .getPrice()
+            .multiply(BigDecimal.valueOf(5))
+            .add(otherProduct.getPrice().multiply(BigDecimal.valueOf(2)));
+
+        CartBatchDTO cartBatchDTO = createBatch(
+            createOperation(CartOperationDTO.Type.ADD, otherProduct.getId(), null),
+            createOperation(CartOperationDTO.Type.ADD, otherProduct.getId(), 1),
+            createOperation(CartOperationDTO.Type.SET_QUANTITY, cartItem.getProduct().getId(), 5)
+        );
+        restCartItemMockMvc
+            .perform(post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartBatchDTO)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.items.[0].id").value(cartItem.getId().intValue()))
+            .andExpect(jsonPath("$.items.[0].quantity").value(5))
+            .andExpect(jsonPath("$.items.[1].product.id").value(otherProduct.getId().intValue()))
+            .andExpect(jsonPath("$.items.[1].quantity").value(2))
+            .andExpect(jsonPath("$.total").value(sameNumber(total)));
+
+        List<CartItem> cartItemList = cartItemRepository.findAll();
+        assertThat(cartItemList).hasSize(databaseSizeBeforeBatch + 1);
+        assertThat(cartItemRepository.findById(cartItem.getId())).get().extracting(CartItem::getQuantity).isEqualTo(5);
+    }
+
+    @Test
+    @Transactional
+    void applyCartOperationsWithProductsInOneStatement() throws Exception {
+        saveCartItemsWithDistinctProducts(3);
+        Long productId = cartItemRepository.findAllByLoginOrderById(DEFAULT_LOGIN).get(0).getProduct().getId();
+        em.clear();
+
+        CartBatchDTO cartBatchDTO = createBatch(createOperation(CartOperationDTO.Type.SET_QUANTITY, productId, UPDATED_QUANTITY));
+        // The locked lines, then the products of all the lines: the update is only flushed on commit
+        assertThat(
+            countStatements(
+                post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartBatchDTO))
+            )
+        )
+            .isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void applyCartOperationsRemovingAndAddingBackProduct() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+        int databaseSizeBeforeBatch = cartItemRepository.findAll().size();
+
+        Long productId = cartItem.getProduct().getId();
+        CartBatchDTO cartBatchDTO = createBatch(
+            createOperation(CartOperationDTO.Type.REMOVE, productId, null),
+            createOperation(CartOperationDTO.Type.ADD, productId, UPDATED_QUANTITY)
+        );
+        restCartItemMockMvc
+            .perform(post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartBatchDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.[*].id").value(hasItem(cartItem.getId().intValue())))
+            .andExpect(jsonPath("$.items.[*].quantity").value(hasItem(UPDATED_QUANTITY)));
+
+        // Flushes the batch, which must not break the unique constraint on the login and product
+        List<CartItem> cartItemList = cartItemRepository.findAll();
+        assertThat(cartItemList).hasSize(databaseSizeBeforeBatch);
+    }
+
+    @Test
+    @Transactional
+    void applyCartOperationsRemovingProduct() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+        int databaseSizeBeforeBatch = cartItemRepository.findAll().size();
+
+        CartBatchDTO cartBatchDTO = createBatch(createOperation(CartOperationDTO.Type.SET_QUANTITY, cartItem.getProduct().getId(), 0));
+        restCartItemMockMvc
+            .perform(post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartBatchDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isEmpty());
+
+        List<CartItem> cartItemList = cartItemRepository.findAll();
+        assertThat(cartItemList).hasSize(databaseSizeBeforeBatch - 1);
+    }
+
+    @Test
+    @Transactional
+    void applyCartOperationsWithNonExistingProduct() throws Exception {
+        cartItemRepository.saveAndFlush(cartItem);
+
+        CartBatchDTO cartBatchDTO = createBatch(
+            createOperation(CartOperationDTO.Type.SET_QUANTITY, cartItem.getProduct().getId(), UPDATED_QUANTITY),
+            createOperation(CartOperationDTO.Type.ADD, count.incrementAndGet(), null)
+        );
+        restCartItemMockMvc
+            .perform(post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(cartBatchDTO)))
+            .andExpect(status().isBadRequest());
+
+        // Nothing is applied
+        assertThat(cartItemRepository.findById(cartItem.getId())).get().extracting(CartItem::getQuantity).isEqualTo(DEFAULT_QUANTITY);
+    }
+
+    @Test
+    @Transactional
+    void applyInvalidCartOperations() throws Exception {
+        Long productId = cartItem.getProduct().getId();
+        CartBatchDTO withoutQuantity = createBatch(createOperation(CartOperationDTO.Type.SET_QUANTITY, productId, null));
+        restCartItemMockMvc
+            .perform(
+                post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(withoutQuantity))
+            )
+            .andExpect(status().isBadRequest());
+
+        CartBatchDTO tooLargeQuantity = createBatch(
+            createOperation(CartOperationDTO.Type.ADD, productId, CartOperationDTO.MAX_QUANTITY + 1)
+        );
+        restCartItemMockMvc
+            .perform(
+                post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(tooLargeQuantity))
+            )
+            .andExpect(status().isBadRequest());
+
+        CartBatchDTO withoutType = createBatch(createOperation(null, productId, 1));
+        restCartItemMockMvc
+            .perform(post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(withoutType)))
+            .andExpect(status().isBadRequest());
+
+        restCartItemMockMvc
+            .perform(post(BATCH_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(createBatch())))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static CartBatchDTO createBatch(CartOperationDTO... operations) {
+        CartBatchDTO cartBatchDTO = new CartBatchDTO();
+        cartBatchDTO.setOperations(List.of(operations));
+        return cartBatchDTO;
+    }
+
+    private static CartOperationDTO createOperation(CartOperationDTO.Type type, Long productId, Integer quantity) {
+        CartOperationDTO operation = new CartOperationDTO();
+        operation.setType(type);
+        operation.setProductId(productId);
+        operation.setQuantity(quantity);
+        return operation;
+    }
 }
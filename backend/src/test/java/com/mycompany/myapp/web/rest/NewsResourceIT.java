@@ -1,13 +1,16 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.News;
 import com.mycompany.myapp.repository.NewsRepository;
+import com.mycompany.myapp.service.cache.SerializedResponseCache;
 import com.mycompany.myapp.service.criteria.NewsCriteria;
 import com.mycompany.myapp.service.dto.NewsDTO;
 import com.mycompany.myapp.service.mapper.NewsMapper;
@@ -19,9 +22,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -53,6 +58,12 @@ class NewsResourceIT {
     @Autowired
     private MockMvc restNewsMockMvc;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private SerializedResponseCache serializedResponseCache;
+
     private News news;
 
     /**
@@ -131,6 +142,85 @@ class NewsResourceIT {
             .andExpect(jsonPath("$.[*].image").value(hasItem(DEFAULT_IMAGE)));
     }
 
+    @Test
+    void getFirstPageOfNewsFromCache() throws Exception {
+        ApplicationProperties.Cache.ResponseCache responseCache = applicationProperties.getCache().getResponseCache();
+        responseCache.setEnabled(true);
+        News saved = newsRepository.saveAndFlush(createEntity(em));
+        try {
+            MvcResult result = restNewsMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(saved.getId().intValue())))
+                .andReturn();
+            assertThat(serializedResponseCache.size()).isGreaterThanOrEqualTo(result.getResponse().getContentAsByteArray().length);
+
+            restNewsMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(header().string("X-Total-Count", result.getResponse().getHeader("X-Total-Count")))
+                .andExpect(content().bytes(result.getResponse().getContentAsByteArray()));
+        } finally {
+            responseCache.setEnabled(false);
+            newsRepository.delete(saved);
+            serializedResponseCache.evictAllAfterCommit(News.class);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllNewsAfterId() throws Exception {
+        News first = newsRepository.saveAndFlush(createEntity(em));
+        News second = newsRepository.saveAndFlush(createEntity(em));
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + first.getId() + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())));
+
+        restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + second.getId() + "&size=1&id.lessThanOrEqual=" + second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void exportNews() throws Exception {
+        News first = newsRepository.saveAndFlush(createEntity(em));
+        News second = newsRepository.saveAndFlush(createEntity(em).image(UPDATED_IMAGE));
+
+        String content = restNewsMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<NewsDTO> exported = TestUtil.readNdjson(content, NewsDTO.class);
+        assertThat(exported).extracting(NewsDTO::getId).contains(first.getId(), second.getId()).isSorted();
+
+        content =
+            restNewsMockMvc
+                .perform(get(ENTITY_API_URL + "/_export?image.equals=" + UPDATED_IMAGE))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        exported = TestUtil.readNdjson(content, NewsDTO.class);
+        assertThat(exported).extracting(NewsDTO::getId).contains(second.getId()).doesNotContain(first.getId());
+
+        // The export joined the transaction of the test, whose entities must still be managed
+        assertThat(em.contains(first)).isTrue();
+        assertThat(em.contains(second)).isTrue();
+    }
+
     @Test
     @Transactional
     void getNews() throws Exception {
@@ -0,0 +1,77 @@
+package com.mycompany.myapp.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mycompany.myapp.config.JacksonConfiguration;
+import com.mycompany.myapp.service.dto.ProductDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the serialization of a page of the default size of {@code GET /api/products}, with the Jackson modules of
+ * {@link JacksonConfiguration}.
+ * <p>
+ * Run it with the {@link #main(String[])} method, from the test classpath, or with the "benchmark" Maven profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductPageJsonBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter writer;
+
+    private List<ProductDTO> page;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModules(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate5Module(),
+                jacksonConfiguration.problemModule(),
+                jacksonConfiguration.constraintViolationProblemModule()
+            );
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ProductDTO.class));
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ProductDTO productDTO = new ProductDTO();
+            productDTO.setId(1000L + i);
+            productDTO.setTitle("Product " + i);
+            productDTO.setPrice(new BigDecimal("19.99").add(BigDecimal.valueOf(i)));
+            productDTO.setImage("https://example.com/images/product-" + i + ".png");
+            page.add(productDTO);
+        }
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductPageJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -2,7 +2,10 @@ package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -12,6 +15,7 @@ import com.mycompany.myapp.repository.ProductRepository;
 import com.mycompany.myapp.service.criteria.ProductCriteria;
 import com.mycompany.myapp.service.dto.ProductDTO;
 import com.mycompany.myapp.service.mapper.ProductMapper;
+import com.mycompany.myapp.service.search.ProductTitleIndex;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Random;
@@ -21,10 +25,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 /**
  * Integration tests for the {@link ProductResource} REST controller.
@@ -56,6 +62,9 @@ class ProductResourceIT {
     @Autowired
     private ProductMapper productMapper;
 
+    @Autowired
+    private ProductTitleIndex productTitleIndex;
+
     @Autowired
     private EntityManager em;
 
@@ -113,6 +122,68 @@ class ProductResourceIT {
         assertThat(productList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void importProductsFromJson() throws Exception {
+        int databaseSizeBeforeCreate = productRepository.findAll().size();
+
+        String body =
+            "[" +
+            "{\"title\":\"" + DEFAULT_TITLE + "\",\"price\":100,\"image\":\"" + DEFAULT_IMAGE + "\"}," +
+            "{\"title\":\"" + DEFAULT_TITLE + "\",\"image\":\"" + DEFAULT_IMAGE + "\"}," +
+            "{\"title\":\"" + UPDATED_TITLE + "\",\"price\":\"free\",\"image\":\"" + DEFAULT_IMAGE + "\"}," +
+            "{\"title\":\"" + UPDATED_TITLE + "\",\"price\":98,\"image\":\"" + UPDATED_IMAGE + "\"}" +
+            "]";
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].messages").value(contains("price: must not be null")))
+            .andExpect(jsonPath("$.errors[1].row").value(3));
+
+        List<Product> productList = productRepository.findAll();
+        assertThat(productList).hasSize(databaseSizeBeforeCreate + 2);
+        Product testProduct = productList.get(productList.size() - 1);
+        assertThat(testProduct.getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(testProduct.getPrice()).isEqualByComparingTo(UPDATED_PRICE);
+        assertThat(testProduct.getImage()).isEqualTo(UPDATED_IMAGE);
+    }
+
+    @Test
+    @Transactional
+    void importProductsFromCsv() throws Exception {
+        int databaseSizeBeforeCreate = productRepository.findAll().size();
+
+        String body =
+            "title,price,image\r\n" +
+            "\"Tea, green\",100,\"" + DEFAULT_IMAGE + "\"\r\n" +
+            DEFAULT_TITLE + ",abc," + DEFAULT_IMAGE + "\r\n" +
+            "\"Too long title for a product\",1," + DEFAULT_IMAGE + "\r\n";
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType("text/csv").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].messages").value(contains("price: not a number")))
+            .andExpect(jsonPath("$.errors[1].row").value(3))
+            .andExpect(jsonPath("$.errors[1].messages[0]").value(containsString("title")));
+
+        List<Product> productList = productRepository.findAll();
+        assertThat(productList).hasSize(databaseSizeBeforeCreate + 1);
+        assertThat(productList.get(productList.size() - 1).getTitle()).isEqualTo("Tea, green");
+    }
+
+    @Test
+    @Transactional
+    void importProductsWithoutHeader() throws Exception {
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType("text/csv").content(DEFAULT_TITLE + ",100," + DEFAULT_IMAGE))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void checkTitleIsRequired() throws Exception {
@@ -176,6 +247,56 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].image").value(hasItem(DEFAULT_IMAGE)));
     }
 
+    @Test
+    @Transactional
+    void getAllProductsAfterId() throws Exception {
+        Product first = productRepository.saveAndFlush(createEntity(em));
+        Product second = productRepository.saveAndFlush(createEntity(em));
+        Product third = productRepository.saveAndFlush(createEntity(em));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + first.getId() + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId() + "&size=1>; rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + second.getId() + "&size=1&title.equals=" + DEFAULT_TITLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void exportProducts() throws Exception {
+        Product first = productRepository.saveAndFlush(createEntity(em));
+        Product second = productRepository.saveAndFlush(createEntity(em).title(UPDATED_TITLE));
+
+        String content = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<ProductDTO> exported = TestUtil.readNdjson(content, ProductDTO.class);
+        assertThat(exported).extracting(ProductDTO::getId).contains(first.getId(), second.getId()).isSorted();
+        assertThat(exported).extracting(ProductDTO::getPrice).anyMatch(price -> price.compareTo(DEFAULT_PRICE) == 0);
+
+        content =
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/_export?title.equals=" + UPDATED_TITLE))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        exported = TestUtil.readNdjson(content, ProductDTO.class);
+        assertThat(exported).extracting(ProductDTO::getId).contains(second.getId()).doesNotContain(first.getId());
+    }
+
     @Test
     @Transactional
     void getProduct() throws Exception {
@@ -191,6 +312,53 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.image").value(DEFAULT_IMAGE));
     }
 
+    @Test
+    @Transactional
+    void getAllProductsNotModified() throws Exception {
+        productRepository.saveAndFlush(product);
+
+        String eTag = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsModifiedAfterCommittedWrite() throws Exception {
+        String eTag = restProductMockMvc.perform(get(ENTITY_API_URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ProductDTO productDTO = productMapper.toDto(product);
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(productDTO)))
+            .andExpect(status().isCreated());
+
+        // The version only changes once the write is committed
+        restProductMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)));
+    }
+
     @Test
     @Transactional
     void getProductsByIdFiltering() throws Exception {
@@ -253,6 +421,15 @@ class ProductResourceIT {
         defaultProductShouldNotBeFound("title.contains=" + UPDATED_TITLE);
     }
 
+    @Test
+    @Transactional
+    void getAllProductsByTitleContainsSomethingIgnoringCase() throws Exception {
+        productRepository.saveAndFlush(product);
+
+        defaultProductShouldBeFound("title.contains=" + DEFAULT_TITLE.substring(2, 6).toLowerCase());
+        defaultProductShouldNotBeFound("title.contains=" + UPDATED_TITLE.substring(2, 6).toLowerCase());
+    }
+
     @Test
     @Transactional
     void getAllProductsByTitleNotContainsSomething() throws Exception {
@@ -388,6 +565,93 @@ class ProductResourceIT {
         defaultProductShouldBeFound("image.doesNotContain=" + UPDATED_IMAGE);
     }
 
+    @Test
+    void suggestProductTitles() throws Exception {
+        // Only committed titles are suggested, once the suggestions have been rebuilt in the background
+        productRepository.saveAndFlush(product);
+        try {
+            waitForSuggestion(DEFAULT_TITLE);
+
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/_suggest?prefix=" + DEFAULT_TITLE.substring(0, 3).toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$").value(hasItem(DEFAULT_TITLE)));
+
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "/_suggest?prefix=" + UPDATED_TITLE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        } finally {
+            productRepository.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void suggestProductTitlesSkipsUncommittedTitles() throws Exception {
+        product.setTitle(UPDATED_TITLE);
+        productRepository.saveAndFlush(product);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/_suggest?prefix=" + UPDATED_TITLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    private void waitForSuggestion(String title) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!productTitleIndex.suggest(title, 1).contains(title) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(productTitleIndex.suggest(title, 1)).contains(title);
+    }
+
+    @Test
+    @Transactional
+    void suggestProductTitlesWithInvalidSize() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/_suggest?prefix=a&size=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getProductPriceFacets() throws Exception {
+        productRepository.saveAndFlush(createEntity(em).price(new BigDecimal(10)));
+        productRepository.saveAndFlush(createEntity(em).price(new BigDecimal(12)));
+        productRepository.saveAndFlush(createEntity(em).price(new BigDecimal(20)));
+        productRepository.saveAndFlush(createEntity(em).price(new BigDecimal(30)));
+        productRepository.saveAndFlush(createEntity(em).title(UPDATED_TITLE).price(new BigDecimal(40)));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/_facets?buckets=2&title.equals=" + DEFAULT_TITLE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].from").value(sameNumber(new BigDecimal(10))))
+            .andExpect(jsonPath("$[0].to").value(sameNumber(new BigDecimal(20))))
+            .andExpect(jsonPath("$[0].count").value(2))
+            .andExpect(jsonPath("$[1].from").value(sameNumber(new BigDecimal(20))))
+            .andExpect(jsonPath("$[1].to").value(sameNumber(new BigDecimal(30))))
+            .andExpect(jsonPath("$[1].count").value(2));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/_facets?title.equals=" + UPDATED_TITLE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].count").value(1));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/_facets?title.equals=unknown"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getProductPriceFacetsWithInvalidBuckets() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/_facets?buckets=0")).andExpect(status().isBadRequest());
+    }
+
     /**
      * Executes the search, and checks that the default entity is returned.
      */
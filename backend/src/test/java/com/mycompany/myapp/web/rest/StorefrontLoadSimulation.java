@@ -0,0 +1,461 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.BackendApp;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.config.VirtualThreadConfiguration;
+import com.mycompany.myapp.repository.CartItemRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.service.NewsService;
+import com.mycompany.myapp.service.ProductService;
+import com.mycompany.myapp.service.dto.NewsDTO;
+import com.mycompany.myapp.service.dto.ProductDTO;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * End-to-end load test of the storefront: boots the application on a random port and replays a mix of title searches,
+ * news banners, and adds to, listings of and deletes from the carts of many users, over HTTP.
+ * <p>
+ * It is not one of the tests: run it with the {@code load-test} Maven profile, against H2 with
+ * {@code ./mvnw -Pload-test test}, or against PostgreSQL with {@code -Dspring.profiles.active=testcontainers}.
+ * The load is configured with system properties:
+ * <ul>
+ *     <li>{@code load.rate}: requests started per second, whatever the response times, which is how real users behave.
+ *     {@code 0} runs a closed loop instead, where each of the {@code load.concurrency} clients waits for its response.</li>
+ *     <li>{@code load.concurrency}: maximum requests in flight.</li>
+ *     <li>{@code load.warmup} and {@code load.duration}: e.g. {@code PT10S} or {@code 1m}.</li>
+ *     <li>{@code load.mix}: weights of the operations, e.g. {@code search=40,news=25,add-to-cart=15,list-cart=15,delete-from-cart=5}.</li>
+ * </ul>
+ * Latencies are measured from the time a request was scheduled, not sent, so a slow server is not hidden by a client
+ * which sends less; their percentiles and the throughput of each operation are printed once done.
+ * <p>
+ * The application runs with the caches, the JDBC batching and the suggestion rebuild delay of the main configuration,
+ * which the test configuration changes, and with statement budgets which only log.
+ * <p>
+ * To compare the Undertow worker pool with virtual threads, run it twice at the same load on a Java runtime with virtual
+ * threads, adding {@code virtual-threads} to the active profiles the second time, e.g.
+ * {@code -Dspring.profiles.active=testcontainers,virtual-threads}: the report names the execution mode. Add
+ * {@code -Djdk.tracePinnedThreads=short} to print the virtual threads which pin their carrier thread while blocked.
+ */
+@SpringBootTest(
+    classes = BackendApp.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=com.hazelcast.hibernate.HazelcastCacheRegionFactory",
+        "spring.jpa.properties.hibernate.cache.use_minimal_puts=true",
+        "spring.jpa.properties.hibernate.cache.keys_factory=simple",
+        "spring.jpa.properties.hibernate.cache.hazelcast.instance_name=backend",
+        "spring.jpa.properties.hibernate.cache.hazelcast.use_lite_member=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=25",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=true",
+        "application.cache.response-cache.enabled=true",
+        "application.search.title-index.suggestion-rebuild-delay=1s",
+        "application.statement-budget.strict=false"
+    }
+)
+class StorefrontLoadSimulation {
+
+    private static final String[] TITLE_WORDS = { "Phone", "Laptop", "Cable", "Charger", "Headset", "Camera", "Speaker", "Watch" };
+
+    private static final int SEARCH_PAGE_SIZE = 20;
+
+    private static final int NEWS_PAGE_SIZE = 5;
+
+    enum Operation {
+        SEARCH("search"),
+        NEWS("news"),
+        ADD_TO_CART("add-to-cart"),
+        LIST_CART("list-cart"),
+        DELETE_FROM_CART("delete-from-cart");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    @Value("${load.rate:100}")
+    private double rate;
+
+    @Value("${load.concurrency:64}")
+    private int concurrency;
+
+    @Value("${load.warmup:PT5S}")
+    private Duration warmup;
+
+    @Value("${load.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${load.users:50}")
+    private int userCount;
+
+    @Value("${load.products:1000}")
+    private int productCount;
+
+    @Value("${load.news:100}")
+    private int newsCount;
+
+    @Value("${load.mix:search=40,news=25,add-to-cart=15,list-cart=15,delete-from-cart=5}")
+    private String mix;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment env;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final List<VirtualUser> users = new ArrayList<>();
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    private HttpClient httpClient;
+
+    private ExecutorService responseExecutor;
+
+    @BeforeEach
+    public void setup() {
+        responseExecutor = Executors.newFixedThreadPool(Math.max(Runtime.getRuntime().availableProcessors(), 2));
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(responseExecutor).build();
+        seed();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        cartItemRepository.deleteAll();
+        responseExecutor.shutdownNow();
+    }
+
+    @Test
+    void replayStorefrontMix() throws InterruptedException {
+        Operation[] operations = parseMix(mix);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+
+        long start = System.nanoTime();
+        long measurementStart = start + warmup.toNanos();
+        long end = measurementStart + duration.toNanos();
+        if (rate > 0) {
+            runOpenLoop(operations, start, measurementStart, end);
+        } else {
+            runClosedLoop(operations, measurementStart, end);
+        }
+
+        report();
+        assertThat(stats.values().stream().mapToLong(operationStats -> operationStats.histogram.getTotalCount()).sum()).isPositive();
+    }
+
+    private void seed() {
+        List<ProductDTO> products = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            ProductDTO product = new ProductDTO();
+            product.setTitle(TITLE_WORDS[i % TITLE_WORDS.length] + " " + i);
+            product.setPrice(BigDecimal.valueOf(100 + i % 9900, 2));
+            product.setImage("/content/images/product-" + i + ".png");
+            products.add(product);
+        }
+        productService.saveAll(products);
+        productService.findAll(Pageable.unpaged()).forEach(product -> productIds.add(product.getId()));
+        for (int i = 0; i < newsCount; i++) {
+            NewsDTO news = new NewsDTO();
+            news.setImage("/content/images/news-" + i + ".png");
+            newsService.save(news);
+        }
+        for (int i = 0; i < userCount; i++) {
+            String login = "load-user-" + i;
+            String token = tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(login, "", List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER))),
+                false
+            );
+            users.add(new VirtualUser(token));
+        }
+    }
+
+    /**
+     * Start requests at the configured rate, each at its scheduled time even when earlier ones are still waiting for
+     * their response, up to the maximum requests in flight.
+     */
+    private void runOpenLoop(Operation[] operations, long start, long measurementStart, long end) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            inFlight.acquire();
+            send(nextOperation(operations), scheduled, measurementStart).whenComplete((ignored, e) -> inFlight.release());
+        }
+        inFlight.acquire(concurrency);
+    }
+
+    /**
+     * Each client sends a request, waits for its response, and sends the next one.
+     */
+    private void runClosedLoop(Operation[] operations, long measurementStart, long end) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < end) {
+                    send(nextOperation(operations), System.nanoTime(), measurementStart).join();
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(end - System.nanoTime() + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+    }
+
+    private CompletableFuture<Void> send(Operation operation, long scheduled, long measurementStart) {
+        VirtualUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        Long cartItemId = operation == Operation.DELETE_FROM_CART ? user.pollCartItem() : null;
+        if (operation == Operation.DELETE_FROM_CART && cartItemId == null) {
+            // Nothing to delete yet: add to the cart instead, as a user would
+            operation = Operation.ADD_TO_CART;
+        }
+        Operation sent = operation;
+        return httpClient
+            .sendAsync(createRequest(sent, user, cartItemId), HttpResponse.BodyHandlers.ofString())
+            .handle((response, e) -> {
+                long latency = System.nanoTime() - scheduled;
+                boolean failed = e != null || response.statusCode() >= 400;
+                if (!failed && sent == Operation.ADD_TO_CART) {
+                    user.addCartItem(readId(response.body()));
+                }
+                if (scheduled >= measurementStart) {
+                    stats.get(sent).record(TimeUnit.NANOSECONDS.toMicros(latency), failed);
+                }
+                return null;
+            });
+    }
+
+    private HttpRequest createRequest(Operation operation, VirtualUser user, Long cartItemId) {
+        String baseUrl = "http://localhost:" + port + "/api";
+        switch (operation) {
+            case SEARCH:
+                String word = TITLE_WORDS[ThreadLocalRandom.current().nextInt(TITLE_WORDS.length)].toLowerCase(Locale.ROOT);
+                return HttpRequest
+                    .newBuilder(URI.create(baseUrl + "/products?size=" + SEARCH_PAGE_SIZE + "&title.contains=" + word))
+                    .build();
+            case NEWS:
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/news?size=" + NEWS_PAGE_SIZE)).build();
+            case ADD_TO_CART:
+                long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+                return user
+                    .authorize(HttpRequest.newBuilder(URI.create(baseUrl + "/cart-items")))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"product\":{\"id\":" + productId + "},\"quantity\":1}"))
+                    .build();
+            case LIST_CART:
+                return user.authorize(HttpRequest.newBuilder(URI.create(baseUrl + "/cart"))).build();
+            case DELETE_FROM_CART:
+                return user.authorize(HttpRequest.newBuilder(URI.create(baseUrl + "/cart-items/" + cartItemId))).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private long readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid cart item " + body, e);
+        }
+    }
+
+    private static Operation nextOperation(Operation[] operations) {
+        return operations[ThreadLocalRandom.current().nextInt(operations.length)];
+    }
+
+    /**
+     * Parse the weights of the operations into an array where each operation appears as many times as its weight.
+     */
+    static Operation[] parseMix(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split("=");
+            Operation operation = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.key.equals(keyAndWeight[0].trim())) {
+                    operation = candidate;
+                }
+            }
+            if (operation == null || keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            for (int i = Integer.parseInt(keyAndWeight[1].trim()); i > 0; i--) {
+                operations.add(operation);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Invalid load.mix: " + mix);
+        }
+        return operations.toArray(new Operation[0]);
+    }
+
+    private void report() {
+        double seconds = duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder();
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "%nStorefront load on %s: %s, %d users, %s after %s warmup%n",
+                isOnVirtualThreads() ? "virtual threads" : "the worker pool",
+                rate > 0 ? rate + " requests/s" : "closed loop of " + concurrency + " clients",
+                users.size(),
+                duration,
+                warmup
+            )
+        );
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "%-18s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation",
+                "requests",
+                "errors",
+                "req/s",
+                "p50 ms",
+                "p99 ms",
+                "p999 ms",
+                "max ms"
+            )
+        );
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            report.append(
+                String.format(
+                    Locale.ROOT,
+                    "%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().key,
+                    histogram.getTotalCount(),
+                    entry.getValue().errors.sum(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0
+                )
+            );
+        }
+        System.out.println(report);
+    }
+
+    private boolean isOnVirtualThreads() {
+        return (
+            env.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_VIRTUAL_THREADS)) &&
+            VirtualThreadConfiguration.virtualThreadFactory("load-").isPresent()
+        );
+    }
+
+    /**
+     * Latencies in microseconds, and errors, of an operation.
+     */
+    private static final class OperationStats {
+
+        private final Histogram histogram = new ConcurrentHistogram(3);
+
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long latencyMicros, boolean failed) {
+            histogram.recordValue(latencyMicros);
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * A logged-in user, and the items they added to their cart.
+     */
+    private static final class VirtualUser {
+
+        private final String token;
+
+        private final Set<Long> cartItemIds = ConcurrentHashMap.newKeySet();
+
+        private VirtualUser(String token) {
+            this.token = token;
+        }
+
+        private HttpRequest.Builder authorize(HttpRequest.Builder request) {
+            return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+
+        private void addCartItem(long id) {
+            cartItemIds.add(id);
+        }
+
+        private Long pollCartItem() {
+            Iterator<Long> iterator = cartItemIds.iterator();
+            while (iterator.hasNext()) {
+                Long id = iterator.next();
+                if (cartItemIds.remove(id)) {
+                    return id;
+                }
+            }
+            return null;
+        }
+    }
+}
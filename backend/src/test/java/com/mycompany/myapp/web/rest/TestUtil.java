@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -49,6 +50,26 @@ public final class TestUtil {
         return mapper.writeValueAsBytes(object);
     }
 
+    /**
+     * Read newline delimited JSON, checking that every element is terminated by a newline.
+     *
+     * @param content the newline delimited JSON.
+     * @param clazz the type of the elements.
+     * @param <T> the type of the elements.
+     * @return the elements, in order.
+     * @throws IOException if a line is not a JSON element of the given type.
+     */
+    public static <T> List<T> readNdjson(String content, Class<T> clazz) throws IOException {
+        List<T> elements = new ArrayList<>();
+        if (!content.isEmpty()) {
+            assertThat(content).endsWith("\n");
+            for (String line : content.split("\n")) {
+                elements.add(mapper.readValue(line, clazz));
+            }
+        }
+        return elements;
+    }
+
     /**
      * Create a byte array with a specific size filled with specified data.
      *
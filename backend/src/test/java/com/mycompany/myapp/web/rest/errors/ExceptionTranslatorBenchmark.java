@@ -0,0 +1,80 @@
+package com.mycompany.myapp.web.rest.errors;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+import org.zalando.problem.violations.ConstraintViolationProblem;
+import org.zalando.problem.violations.Violation;
+
+/**
+ * Measures the post-processing of the error responses by {@link ExceptionTranslator#process}, for a plain problem and
+ * for a validation problem.
+ * <p>
+ * Run it with the {@link #main(String[])} method, from the test classpath, or with the "benchmark" Maven profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionTranslatorBenchmark {
+
+    private ExceptionTranslator exceptionTranslator;
+
+    private NativeWebRequest request;
+
+    private ResponseEntity<Problem> notFound;
+
+    private ResponseEntity<Problem> constraintViolation;
+
+    @Setup
+    public void setup() {
+        exceptionTranslator = new ExceptionTranslator(new MockEnvironment());
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/products/1"));
+        notFound =
+            new ResponseEntity<>(Problem.builder().withStatus(Status.NOT_FOUND).withTitle("Not Found").build(), HttpStatus.NOT_FOUND);
+        constraintViolation =
+            new ResponseEntity<>(
+                new ConstraintViolationProblem(
+                    Status.BAD_REQUEST,
+                    List.of(new Violation("title", "must not be null"), new Violation("price", "must be less than or equal to 9999.99"))
+                ),
+                HttpStatus.BAD_REQUEST
+            );
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> processProblem() {
+        return exceptionTranslator.process(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> processConstraintViolationProblem() {
+        return exceptionTranslator.process(constraintViolation, request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExceptionTranslatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
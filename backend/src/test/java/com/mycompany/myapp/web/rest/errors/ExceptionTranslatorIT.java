@@ -35,6 +35,33 @@ class ExceptionTranslatorIT {
             .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
     }
 
+    @Test
+    void testDataIntegrityViolation() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/data-integrity-violation"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value("error.http.500"));
+    }
+
+    @Test
+    void testUniqueKeyViolation() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/unique-key-violation"))
+            .andExpect(status().isConflict())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_DATA_INTEGRITY_VIOLATION));
+    }
+
+    @Test
+    void testDuplicateKey() throws Exception {
+        mockMvc
+            .perform(get("/api/exception-translator-test/duplicate-key"))
+            .andExpect(status().isConflict())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_DATA_INTEGRITY_VIOLATION));
+    }
+
     @Test
     void testMethodArgumentNotValid() throws Exception {
         mockMvc
@@ -1,8 +1,12 @@
 package com.mycompany.myapp.web.rest.errors;
 
+import java.sql.SQLException;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -17,6 +21,31 @@ public class ExceptionTranslatorTestController {
         throw new ConcurrencyFailureException("test concurrency failure");
     }
 
+    @GetMapping("/data-integrity-violation")
+    public void dataIntegrityViolation() {
+        throw new DataIntegrityViolationException(
+            "test data integrity violation",
+            new ConstraintViolationException("test foreign key violation", new SQLException(), "FK_CART_ITEM__PRODUCT_ID")
+        );
+    }
+
+    @GetMapping("/unique-key-violation")
+    public void uniqueKeyViolation() {
+        throw new DataIntegrityViolationException(
+            "test unique key violation",
+            new ConstraintViolationException(
+                "test unique key violation",
+                new SQLException(),
+                "\"PUBLIC.UX_CART_ITEM__LOGIN_PRODUCT_ID_INDEX_8 ON PUBLIC.CART_ITEM(LOGIN, PRODUCT_ID)"
+            )
+        );
+    }
+
+    @GetMapping("/duplicate-key")
+    public void duplicateKey() {
+        throw new DuplicateKeyException("test duplicate key");
+    }
+
     @PostMapping("/method-argument")
     public void methodArgument(@Valid @RequestBody TestDTO testDTO) {}
 
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { ICartItem } from '../types/cart-item.interface';
+import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { Observable, retry, throwError, timer } from 'rxjs';
+import { ICart, ICartItem } from '../types/cart-item.interface';
+import { ICartOperation } from '../types/cart-operation.interface';
 import { IProduct } from '../types/product.interface';
 
 @Injectable({
@@ -19,6 +20,17 @@ export class CartItemApi {
     }
 
     addCartItem(product: IProduct): Observable<ICartItem> {
-        return this.http.post<ICartItem>('/api/cart-items', { product });
+        return this.http.post<ICartItem>('/api/cart-items', { product, quantity: 1 });
+    }
+
+    // Applies all the operations in a single transaction, or none of them. The batch id lets the request be retried
+    // when the network fails, without applying the operations twice.
+    applyCartOperations(operations: ICartOperation[], batchId: string = crypto.randomUUID()): Observable<ICart> {
+        return this.http.post<ICart>('/api/cart-items/_batch', { batchId, operations }).pipe(
+            retry({
+                count: 2,
+                delay: (error: HttpErrorResponse) => (error.status === 0 ? timer(1000) : throwError(() => error))
+            })
+        );
     }
 }
@@ -12,4 +12,8 @@ export class ProductApi {
     getAllProductsByTitle(title: string): Observable<IProduct[]> {
         return this.http.get<IProduct[]>('/api/products?title.contains=' + title);
     }
+
+    suggestTitles(prefix: string): Observable<string[]> {
+        return this.http.get<string[]>('/api/products/_suggest', { params: { prefix } });
+    }
 }
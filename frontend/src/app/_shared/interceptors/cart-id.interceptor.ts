@@ -0,0 +1,25 @@
+import { Injectable } from '@angular/core';
+import { HttpEvent, HttpHandler, HttpInterceptor, HttpRequest } from '@angular/common/http';
+import { Observable } from 'rxjs';
+
+const CART_ID_KEY = 'cartId';
+
+// Identifies the anonymous cart of this browser to the cart endpoints, which require a user or a cart id
+@Injectable()
+export class CartIdInterceptor implements HttpInterceptor {
+    intercept(request: HttpRequest<unknown>, next: HttpHandler): Observable<HttpEvent<unknown>> {
+        if (!request.url.startsWith('/api/cart')) {
+            return next.handle(request);
+        }
+        return next.handle(request.clone({ setHeaders: { 'X-Cart-Id': this.getCartId() } }));
+    }
+
+    private getCartId(): string {
+        let cartId = localStorage.getItem(CART_ID_KEY);
+        if (!cartId) {
+            cartId = crypto.randomUUID();
+            localStorage.setItem(CART_ID_KEY, cartId);
+        }
+        return cartId;
+    }
+}
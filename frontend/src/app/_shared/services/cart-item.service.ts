@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { BehaviorSubject, Observable } from 'rxjs';
 import { ICartItem } from '../types/cart-item.interface';
 import { CartItemApi } from '../apis/cart-item.api';
+import { ICartOperation } from '../types/cart-operation.interface';
 import { IProduct } from '../types/product.interface';
 
 @Injectable({
@@ -20,7 +21,8 @@ export class CartItemService {
     }
 
     addCartItem$(cardItem: ICartItem): void {
-        const newCartItems = this.cartItems$.getValue();
+        // Adding a product already in the cart returns its existing line with an increased quantity
+        const newCartItems = this.cartItems$.getValue().filter(cartItem => cartItem.id !== cardItem.id);
         this.cartItems$.next([...newCartItems, cardItem]);
     }
 
@@ -41,4 +43,8 @@ export class CartItemService {
     setCartItem(product: IProduct): void {
         this.cartItemApi.addCartItem(product).subscribe((cardItem: ICartItem) => this.addCartItem$(cardItem));
     }
+
+    applyCartOperations(operations: ICartOperation[]): void {
+        this.cartItemApi.applyCartOperations(operations).subscribe(cart => this.cartItems$.next(cart.items));
+    }
 }
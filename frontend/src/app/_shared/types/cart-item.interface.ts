@@ -3,4 +3,10 @@ import { IProduct } from './product.interface';
 export interface ICartItem {
     id: number;
     product: IProduct;
+    quantity: number;
+}
+
+export interface ICart {
+    items: ICartItem[];
+    total: number;
 }
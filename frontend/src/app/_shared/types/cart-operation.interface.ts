@@ -0,0 +1,7 @@
+export type CartOperationType = 'ADD' | 'REMOVE' | 'SET_QUANTITY';
+
+export interface ICartOperation {
+    type: CartOperationType;
+    productId: number;
+    quantity?: number;
+}
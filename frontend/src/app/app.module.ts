@@ -8,8 +8,9 @@ import { CartComponent } from './cart/cart.component';
 import { ProductComponent } from './products/product-list/components/product/product.component';
 import { ProductBannerComponent } from './products/product-banner/product-banner.component';
 import { ProductSearchComponent } from './products/product-search/product-search.component';
-import { HttpClientModule } from '@angular/common/http';
+import { HTTP_INTERCEPTORS, HttpClientModule } from '@angular/common/http';
 import { ReactiveFormsModule } from '@angular/forms';
+import { CartIdInterceptor } from './_shared/interceptors/cart-id.interceptor';
 
 @NgModule({
     declarations: [
@@ -21,7 +22,7 @@ import { ReactiveFormsModule } from '@angular/forms';
         ProductSearchComponent
     ],
     imports: [BrowserModule, AppRoutingModule, HttpClientModule, ReactiveFormsModule],
-    providers: [],
+    providers: [{ provide: HTTP_INTERCEPTORS, useClass: CartIdInterceptor, multi: true }],
     bootstrap: [AppComponent]
 })
 export class AppModule {}
@@ -24,7 +24,7 @@ export class CartComponent implements OnInit {
     private calculateTotalAmount(cartItems: ICartItem[]): void {
         this.totalAmount = 0;
         cartItems.forEach(cartItem => {
-            this.totalAmount += cartItem.product.price;
+            this.totalAmount += cartItem.product.price * cartItem.quantity;
         });
     }
 
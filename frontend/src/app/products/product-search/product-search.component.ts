@@ -1,5 +1,7 @@
 import { Component, OnInit } from '@angular/core';
 import { FormControl, FormGroup } from '@angular/forms';
+import { debounceTime, distinctUntilChanged, Observable, of, switchMap } from 'rxjs';
+import { ProductApi } from 'src/app/_shared/apis/product.api';
 import { ProductService } from 'src/app/_shared/services/product.service';
 
 @Component({
@@ -12,14 +14,21 @@ export class ProductSearchComponent implements OnInit {
         title: new FormControl('')
     });
 
+    suggestions$: Observable<string[]> = of([]);
+
     get title(): FormControl {
         return this.form.get('title') as FormControl;
     }
 
-    constructor(private productService: ProductService) {}
+    constructor(private productService: ProductService, private productApi: ProductApi) {}
 
     ngOnInit(): void {
         this.searchProduct();
+        this.suggestions$ = this.title.valueChanges.pipe(
+            debounceTime(150),
+            distinctUntilChanged(),
+            switchMap((prefix: string) => (prefix ? this.productApi.suggestTitles(prefix) : of([])))
+        );
     }
 
     searchProduct() {